@@ -0,0 +1,127 @@
+package org.folio.edge.core;
+
+import static org.folio.edge.core.Constants.SYS_LOG_LEVEL;
+import static org.folio.edge.core.Constants.SYS_OKAPI_URL;
+import static org.folio.edge.core.Constants.SYS_PORT;
+import static org.folio.edge.core.Constants.SYS_SECURE_STORE_PROP_FILE;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.edge.core.security.SecureStore;
+import org.folio.edge.core.utils.ApiKeyUtils;
+import org.folio.edge.core.utils.OkapiClientFactory;
+import org.folio.edge.core.utils.test.MockOkapi;
+import org.folio.edge.core.utils.test.TestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+
+/**
+ * End-to-end throughput of an edge API proxying GET requests to
+ * {@link MockOkapi}, in process: API key extraction and parsing, the token
+ * cache, the Okapi client and the proxied response.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProxyBenchmark {
+
+  private static final String API_KEY = ApiKeyUtils.generateApiKey("gYn0uFv3Lf", "diku", "diku");
+
+  private Vertx vertx;
+  private MockOkapi mockOkapi;
+  private WebClient client;
+  private int port;
+
+  @Setup
+  public void setUp() throws Exception {
+    int okapiPort = TestUtils.getPort();
+    port = TestUtils.getPort();
+
+    mockOkapi = new MockOkapi(okapiPort, List.of("diku"));
+    await(mockOkapi.start());
+
+    vertx = Vertx.vertx();
+    JsonObject config = new JsonObject()
+        .put(SYS_PORT, port)
+        .put(SYS_OKAPI_URL, "http://localhost:" + okapiPort)
+        .put(SYS_SECURE_STORE_PROP_FILE, "src/main/resources/ephemeral.properties")
+        // per request logging would dominate
+        .put(SYS_LOG_LEVEL, "WARN");
+    await(vertx.deployVerticle(ProxyVerticle.class.getName(), new DeploymentOptions().setConfig(config)));
+
+    client = WebClient.create(vertx, new WebClientOptions(), new PoolOptions().setHttp1MaxSize(64));
+    // log in once, so the token cache is warm
+    proxy();
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    await(vertx.close());
+    await(mockOkapi.close());
+  }
+
+  private static <T> T await(Future<T> future) throws Exception {
+    return future.toCompletionStage().toCompletableFuture().get(30, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public int proxy() throws Exception {
+    return await(client.get(port, "localhost", "/proxy?apikey=" + API_KEY).send()).statusCode();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public int proxyConcurrent() throws Exception {
+    return proxy();
+  }
+
+  public static class ProxyVerticle extends EdgeVerticleHttp {
+
+    @Override
+    public Router defineRoutes() {
+      ProxyHandler handler = new ProxyHandler(secureStore, getOkapiClientFactory());
+      Router router = Router.router(vertx);
+      router.route(HttpMethod.GET, "/proxy").handler(handler::handle);
+      return router;
+    }
+  }
+
+  private static class ProxyHandler extends Handler {
+
+    ProxyHandler(SecureStore secureStore, OkapiClientFactory ocf) {
+      super(secureStore, ocf, new ApiKeyHelper("PARAM"));
+    }
+
+    void handle(RoutingContext ctx) {
+      handleCommon(ctx, new String[] {}, new String[] {}, (client, params) ->
+          client.get(client.okapiURL + "/echo", client.tenant, null)
+            .onSuccess(resp -> handleProxyResponse(ctx, resp))
+            .onFailure(t -> handleProxyException(ctx, t)));
+    }
+  }
+}
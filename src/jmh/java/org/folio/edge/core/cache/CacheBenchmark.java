@@ -0,0 +1,89 @@
+package org.folio.edge.core.cache;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link Cache} lookups and inserts, single-threaded and under
+ * contention between readers and a writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+
+  @Param({ "100", "10000" })
+  int capacity;
+
+  private Cache<String> cache;
+  private String[] keys;
+
+  @Setup
+  public void setUp() {
+    cache = new Cache.Builder<String>()
+        .withTTL(TimeUnit.HOURS.toMillis(1))
+        .withNullValueTTL(TimeUnit.MINUTES.toMillis(1))
+        .withCapacity(capacity)
+        .build();
+    // twice the capacity, so about half of the lookups miss and puts evict
+    keys = new String[capacity * 2];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = "tenant" + (i % 10) + "\tuser" + i;
+      if (i < capacity) {
+        cache.put(keys[i], "token" + i);
+      }
+    }
+  }
+
+  private String randomKey() {
+    return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+  }
+
+  @Benchmark
+  public String get() {
+    return cache.get(randomKey());
+  }
+
+  @Benchmark
+  public Cache.CacheValue<String> put() {
+    return cache.put(randomKey(), "token");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String getContended() {
+    return cache.get(randomKey());
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(3)
+  public String readWriteGet() {
+    return cache.get(randomKey());
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(1)
+  public Cache.CacheValue<String> readWritePut() {
+    return cache.put(randomKey(), "token");
+  }
+}
@@ -0,0 +1,97 @@
+package org.folio.edge.core.utils;
+
+import static org.folio.edge.core.Constants.HEADER_API_KEY;
+import static org.folio.edge.core.Constants.PARAM_API_KEY;
+import static org.folio.edge.core.Constants.PATH_API_KEY;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.concurrent.TimeUnit;
+
+import org.folio.edge.core.ApiKeyHelper;
+import org.folio.edge.core.model.ClientInfo;
+import org.folio.edge.core.utils.ApiKeyUtils.MalformedApiKeyException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Cost of extracting and parsing the API key of a request.
+ *
+ * <p>The routing context is a stub-only mock, its overhead is included in
+ * the {@code getApiKey} scores and is the same for all sources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiKeyBenchmark {
+
+  /**
+   * Where the key is found: the helper tries PARAM, HEADER and PATH in this
+   * order, so later sources also pay for the earlier misses. APIKEY_SCHEME is
+   * an Authorization header with the key after the {@code apikey} scheme.
+   */
+  @Param({ "PARAM", "HEADER", "APIKEY_SCHEME", "PATH" })
+  String source;
+
+  private String apiKey;
+  private ApiKeyHelper helper;
+  private RoutingContext ctx;
+
+  @Setup
+  public void setUp() {
+    apiKey = ApiKeyUtils.generateApiKey(10, "diku", "diku_admin");
+    helper = new ApiKeyHelper("PARAM,HEADER,PATH");
+
+    HttpServerRequest request = mock(HttpServerRequest.class, withSettings().stubOnly());
+    ctx = mock(RoutingContext.class, withSettings().stubOnly());
+    when(ctx.request()).thenReturn(request);
+    switch (source) {
+      case "PARAM":
+        when(request.getParam(PARAM_API_KEY)).thenReturn(apiKey);
+        break;
+      case "HEADER":
+        when(request.getHeader(HEADER_API_KEY)).thenReturn(apiKey);
+        break;
+      case "APIKEY_SCHEME":
+        when(request.getHeader(HEADER_API_KEY)).thenReturn("Bearer xyz, apikey " + apiKey);
+        break;
+      default:
+        when(request.getParam(PATH_API_KEY)).thenReturn(apiKey);
+        break;
+    }
+  }
+
+  @Benchmark
+  public String getApiKey() {
+    return helper.getApiKey(ctx);
+  }
+
+  /**
+   * Cached after the first call.
+   */
+  @Benchmark
+  public ClientInfo parseApiKey() throws MalformedApiKeyException {
+    return ApiKeyUtils.parseApiKey(apiKey);
+  }
+
+  @Benchmark
+  public ClientInfo parseUncached() {
+    return ApiKeyParser.parse(apiKey);
+  }
+}
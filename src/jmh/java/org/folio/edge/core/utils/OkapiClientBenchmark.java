@@ -0,0 +1,68 @@
+package org.folio.edge.core.utils;
+
+import static org.folio.edge.core.Constants.X_OKAPI_TENANT;
+import static org.folio.edge.core.Constants.X_OKAPI_TOKEN;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+
+/**
+ * Cost of combining the headers of a request to Okapi with the defaults of
+ * the client.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OkapiClientBenchmark {
+
+  private Vertx vertx;
+  private OkapiClient client;
+  private MultiMap headers;
+
+  @Setup
+  public void setUp() {
+    vertx = Vertx.vertx();
+    client = new OkapiClientFactory(vertx, "http://localhost:9130", 1000).getOkapiClient("diku");
+    client.setToken("token");
+    headers = MultiMap.caseInsensitiveMultiMap()
+        .add(HttpHeaders.ACCEPT, "application/json")
+        .add(HttpHeaders.CONTENT_TYPE, "application/json")
+        .add("X-Request-Id", "123")
+        // overridden by the defaults
+        .add(X_OKAPI_TENANT, "other")
+        .add(X_OKAPI_TOKEN, "other");
+  }
+
+  @TearDown
+  public void tearDown() {
+    vertx.close();
+  }
+
+  @Benchmark
+  public MultiMap combineNone() {
+    return client.combineHeadersWithDefaults(null);
+  }
+
+  @Benchmark
+  public MultiMap combine() {
+    return client.combineHeadersWithDefaults(headers);
+  }
+}
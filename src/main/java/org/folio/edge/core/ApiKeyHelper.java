@@ -6,18 +6,27 @@ import static org.folio.edge.core.Constants.PATH_API_KEY;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import io.vertx.ext.web.RoutingContext;
 
 public class ApiKeyHelper {
 
+  /**
+   * @deprecated no longer used, {@link #getFromHeader(RoutingContext)} scans
+   *             the header for the {@code apikey} scheme without a regex
+   */
+  @Deprecated
   public static final Pattern AUTH_TYPE = Pattern.compile("(?i).*apikey (\\w*).*");
   public static final Pattern COMMA = Pattern.compile(",");
 
+  private static final String APIKEY_SCHEME = "apikey ";
+
   public final List<ApiKeySource> sources;
 
+  // one per source, in the configured order
+  private final ApiKeyExtractor[] extractors;
+
   public ApiKeyHelper(String apiKeySources) {
     sources = new ArrayList<>();
 
@@ -27,30 +36,32 @@ public class ApiKeyHelper {
     for (String source : COMMA.split(apiKeySources)) {
       sources.add(ApiKeySource.valueOf(source));
     }
+
+    extractors = new ApiKeyExtractor[sources.size()];
+    for (int i = 0; i < extractors.length; i++) {
+      extractors[i] = extractor(sources.get(i));
+    }
   }
 
-  public String getApiKey(RoutingContext ctx) {
-    String apiKey = null;
-    for (ApiKeySource source : sources) {
-      switch (source) {
-      case PARAM:
-        apiKey = getFromParam(ctx);
-        break;
-
-      case HEADER:
-        apiKey = getFromHeader(ctx);
-        break;
-
-      case PATH:
-        apiKey = getFromPath(ctx);
-        break;
-      }
+  private ApiKeyExtractor extractor(ApiKeySource source) {
+    switch (source) {
+    case PARAM:
+      return this::getFromParam;
+    case HEADER:
+      return this::getFromHeader;
+    default:
+      return this::getFromPath;
+    }
+  }
 
+  public String getApiKey(RoutingContext ctx) {
+    for (ApiKeyExtractor extractor : extractors) {
+      String apiKey = extractor.extract(ctx);
       if (apiKey != null) {
-        break;
+        return apiKey;
       }
     }
-    return apiKey;
+    return null;
   }
 
   public String getFromParam(RoutingContext ctx) {
@@ -64,12 +75,57 @@ public class ApiKeyHelper {
       return null;
     }
 
-    Matcher matcher = AUTH_TYPE.matcher(full);
-    if (matcher.matches()) {
-      return matcher.group(1);
-    } else {
-      return full;
+    return getFromAuthorization(full);
+  }
+
+  /**
+   * Same result as matching {@link #AUTH_TYPE}: the word characters after the
+   * last case-insensitive {@code "apikey "} if there is one and the value is
+   * a single line, otherwise the whole value.
+   */
+  static String getFromAuthorization(String value) {
+    final int length = value.length();
+    int keyStart = -1;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (isLineTerminator(c)) {
+        return value;
+      }
+      if ((c | 0x20) == 'a' && length - i >= APIKEY_SCHEME.length() && isApiKeyScheme(value, i)) {
+        keyStart = i + APIKEY_SCHEME.length();
+      }
     }
+    if (keyStart < 0) {
+      return value;
+    }
+    int keyEnd = keyStart;
+    while (keyEnd < length && isWordChar(value.charAt(keyEnd))) {
+      keyEnd++;
+    }
+    return value.substring(keyStart, keyEnd);
+  }
+
+  /**
+   * ASCII case-insensitive match, like a regex without UNICODE_CASE.
+   */
+  private static boolean isApiKeyScheme(String value, int offset) {
+    for (int i = 0; i < APIKEY_SCHEME.length(); i++) {
+      char c = value.charAt(offset + i);
+      char expected = APIKEY_SCHEME.charAt(i);
+      if (c != expected && !(c >= 'A' && c <= 'Z' && (char) (c + ('a' - 'A')) == expected)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // the characters the regex dot doesn't match
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+
+  private static boolean isWordChar(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
   }
 
   public String getFromPath(RoutingContext ctx) {
@@ -80,4 +136,9 @@ public class ApiKeyHelper {
     PARAM, HEADER, PATH
   }
 
+  @FunctionalInterface
+  private interface ApiKeyExtractor {
+    String extract(RoutingContext ctx);
+  }
+
 }
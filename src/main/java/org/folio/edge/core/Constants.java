@@ -20,10 +20,58 @@ public class Constants {
   public static final String SYS_TOKEN_CACHE_TTL_MS = "token_cache_ttl_ms";
   public static final String SYS_NULL_TOKEN_CACHE_TTL_MS = "null_token_cache_ttl_ms";
   public static final String SYS_TOKEN_CACHE_CAPACITY = "token_cache_capacity";
+  public static final String SYS_TOKEN_CACHE_TENANT_CAPACITY = "token_cache_tenant_capacity";
+  public static final String SYS_TOKEN_REFRESH_FRACTION = "token_refresh_fraction";
+  public static final String SYS_TOKEN_REFRESH_JITTER_MS = "token_refresh_jitter_ms";
   public static final String SYS_LOG_LEVEL = "log_level";
   public static final String SYS_REQUEST_TIMEOUT_MS = "request_timeout_ms";
   public static final String SYS_API_KEY_SOURCES = "api_key_sources";
   public static final String SYS_RESPONSE_COMPRESSION = "response_compression";
+  public static final String SYS_HTTP2 = "http2";
+  public static final String SYS_HTTP2_MAX_CONCURRENT_STREAMS = "http2_max_concurrent_streams";
+  public static final String SYS_HTTP2_INITIAL_WINDOW_SIZE = "http2_initial_window_size";
+  public static final String SYS_HTTP2_HEADER_TABLE_SIZE = "http2_header_table_size";
+  public static final String SYS_CONCURRENCY_LIMIT = "concurrency_limit";
+  public static final String SYS_METRICS = "metrics";
+  public static final String SYS_METRICS_PATH = "metrics_path";
+  public static final String SYS_METRICS_PORT = "metrics_port";
+  public static final String SYS_CONCURRENCY_LIMIT_INITIAL = "concurrency_limit_initial";
+  public static final String SYS_CONCURRENCY_LIMIT_MIN = "concurrency_limit_min";
+  public static final String SYS_CONCURRENCY_LIMIT_MAX = "concurrency_limit_max";
+  public static final String SYS_OKAPI_CLIENT_MAX_POOL_SIZE = "okapi_client_max_pool_size";
+  public static final String SYS_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE = "okapi_client_max_wait_queue_size";
+  public static final String SYS_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S = "okapi_client_keep_alive_timeout_s";
+  public static final String SYS_OKAPI_CLIENT_PIPELINING = "okapi_client_pipelining";
+  public static final String SYS_OKAPI_CLIENT_PIPELINING_LIMIT = "okapi_client_pipelining_limit";
+  public static final String SYS_OKAPI_CLIENT_HTTP2 = "okapi_client_http2";
+  public static final String SYS_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE = "okapi_client_http2_max_pool_size";
+  public static final String SYS_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT = "okapi_client_http2_multiplexing_limit";
+  public static final String SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD =
+      "okapi_client_circuit_breaker_failure_threshold";
+  public static final String SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS =
+      "okapi_client_circuit_breaker_reset_timeout_ms";
+  public static final String SYS_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT = "okapi_client_bulkhead_max_concurrent";
+  public static final String SYS_OKAPI_CLIENT_HEDGING = "okapi_client_hedging";
+  public static final String SYS_OKAPI_CLIENT_HEDGING_PERCENTILE = "okapi_client_hedging_percentile";
+  public static final String SYS_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT = "okapi_client_hedging_budget_percent";
+  public static final String SYS_OKAPI_CLIENT_MAX_RETRIES = "okapi_client_max_retries";
+  public static final String SYS_OKAPI_CLIENT_RETRY_BASE_DELAY_MS = "okapi_client_retry_base_delay_ms";
+  public static final String SYS_OKAPI_CLIENT_RETRY_MAX_DELAY_MS = "okapi_client_retry_max_delay_ms";
+  public static final String SYS_OKAPI_CLIENT_RETRY_BUDGET_PERCENT = "okapi_client_retry_budget_percent";
+  public static final String SYS_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES = "okapi_client_response_cache_max_bytes";
+  public static final String SYS_WARMUP_CLIENTS = "warmup_clients";
+  public static final String SYS_WARMUP_FILE = "warmup_file";
+  public static final String SYS_WARMUP_CONCURRENCY = "warmup_concurrency";
+  public static final String SYS_WARMUP_TIMEOUT_MS = "warmup_timeout_ms";
+  public static final String SYS_INSTANCES = "instances";
+  public static final String SYS_TRANSPORT = "transport";
+  public static final String SYS_TCP_NO_DELAY = "tcp_no_delay";
+  public static final String SYS_TCP_FAST_OPEN = "tcp_fast_open";
+  public static final String SYS_TCP_QUICK_ACK = "tcp_quick_ack";
+  public static final String SYS_REUSE_PORT = "reuse_port";
+  public static final String SYS_RECEIVE_BUFFER_SIZE = "receive_buffer_size";
+  public static final String SYS_SEND_BUFFER_SIZE = "send_buffer_size";
+  public static final String SYS_ACCEPT_BACKLOG = "accept_backlog";
 
   // Env variables for SSL/TLS http server configuration
   public static final String SPRING_SSL_BUNDLE_JKS_WEBSERVER_KEYSTORE_TYPE = "SPRING_SSL_BUNDLE_JKS_WEBSERVER_KEYSTORE_TYPE";
@@ -49,20 +97,69 @@ public class Constants {
   public static final long DEFAULT_TOKEN_CACHE_TTL_MS = 60 * 60 * 1000L;
   public static final long DEFAULT_NULL_TOKEN_CACHE_TTL_MS = 30 * 1000L;
   public static final int DEFAULT_TOKEN_CACHE_CAPACITY = 100;
+  // no quota other than the capacity of the whole cache
+  public static final int DEFAULT_TOKEN_CACHE_TENANT_CAPACITY = 0;
+  public static final double DEFAULT_TOKEN_REFRESH_FRACTION = 0; // disabled
+  public static final long DEFAULT_TOKEN_REFRESH_JITTER_MS = 10 * 1000L;
   public static final String DEFAULT_API_KEY_SOURCES = "PARAM,HEADER,PATH";
   public static final boolean DEFAULT_RESPONSE_COMPRESSION = false;
   public static final boolean DEFAULT_SSL_ENABLED = false;
+  public static final boolean DEFAULT_HTTP2 = false;
+  public static final long DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS = 100;
+  public static final int DEFAULT_HTTP2_INITIAL_WINDOW_SIZE = 65535;
+  public static final long DEFAULT_HTTP2_HEADER_TABLE_SIZE = 4096;
+  public static final boolean DEFAULT_CONCURRENCY_LIMIT = false;
+  public static final boolean DEFAULT_METRICS = false;
+  public static final String DEFAULT_METRICS_PATH = "/admin/metrics";
+  // serve metrics on the port of the edge API
+  public static final int DEFAULT_METRICS_PORT = 0;
+  public static final long DEFAULT_EVENT_LOOP_LAG_INTERVAL_MS = 1000;
+  public static final int DEFAULT_CONCURRENCY_LIMIT_INITIAL = 20;
+  public static final int DEFAULT_CONCURRENCY_LIMIT_MIN = 5;
+  public static final int DEFAULT_CONCURRENCY_LIMIT_MAX = 1000;
+  public static final int DEFAULT_OKAPI_CLIENT_MAX_POOL_SIZE = 20;
+  public static final int DEFAULT_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE = -1; // unbounded
+  public static final int DEFAULT_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S = 60;
+  public static final boolean DEFAULT_OKAPI_CLIENT_PIPELINING = false;
+  public static final int DEFAULT_OKAPI_CLIENT_PIPELINING_LIMIT = 10;
+  public static final boolean DEFAULT_OKAPI_CLIENT_HTTP2 = false;
+  public static final int DEFAULT_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE = 1;
+  public static final int DEFAULT_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT = -1; // as advertised by the server
+  public static final int DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD = 0; // disabled
+  public static final long DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS = 30 * 1000L;
+  public static final int DEFAULT_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT = 0; // unbounded
+  public static final boolean DEFAULT_OKAPI_CLIENT_HEDGING = false;
+  public static final double DEFAULT_OKAPI_CLIENT_HEDGING_PERCENTILE = 95;
+  public static final double DEFAULT_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT = 5;
+  public static final int DEFAULT_OKAPI_CLIENT_MAX_RETRIES = 0; // disabled
+  public static final long DEFAULT_OKAPI_CLIENT_RETRY_BASE_DELAY_MS = 50;
+  public static final long DEFAULT_OKAPI_CLIENT_RETRY_MAX_DELAY_MS = 1000;
+  public static final double DEFAULT_OKAPI_CLIENT_RETRY_BUDGET_PERCENT = 10;
+  public static final long DEFAULT_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES = 0; // disabled
+  public static final int DEFAULT_WARMUP_CONCURRENCY = 4;
+  public static final long DEFAULT_WARMUP_TIMEOUT_MS = 30 * 1000L;
+  public static final int DEFAULT_INSTANCES = Runtime.getRuntime().availableProcessors();
+  public static final String DEFAULT_TRANSPORT = "nio";
+  public static final boolean DEFAULT_TCP_NO_DELAY = true;
+  public static final boolean DEFAULT_TCP_FAST_OPEN = false;
+  public static final boolean DEFAULT_TCP_QUICK_ACK = false;
+  public static final boolean DEFAULT_REUSE_PORT = false;
+  public static final int DEFAULT_RECEIVE_BUFFER_SIZE = -1; // OS default
+  public static final int DEFAULT_SEND_BUFFER_SIZE = -1; // OS default
+  public static final int DEFAULT_ACCEPT_BACKLOG = -1; // OS default
 
   // Headers
   public static final String X_OKAPI_TENANT = "x-okapi-tenant";
   public static final String X_OKAPI_TOKEN = "x-okapi-token";
   public static final String HEADER_API_KEY = "Authorization";
+  public static final String HEADER_RETRY_AFTER = "Retry-After";
 
   // Header Values
   public static final String APPLICATION_JSON = "application/json";
   public static final String APPLICATION_XML = "application/xml";
   public static final String TEXT_PLAIN = "text/plain";
   public static final String TEXT_XML = "text/xml";
+  public static final String TEXT_PROMETHEUS = "text/plain; version=0.0.4; charset=utf-8";
   public static final String JSON_OR_TEXT = APPLICATION_JSON + ", " + TEXT_PLAIN;
   public static final String XML_OR_TEXT = APPLICATION_XML + ", " + TEXT_PLAIN;
 
@@ -106,11 +203,145 @@ public class Constants {
     defaultMap.put(SYS_TOKEN_CACHE_CAPACITY,
         Integer.parseInt(System.getProperty(SYS_TOKEN_CACHE_CAPACITY,
           Integer.toString(DEFAULT_TOKEN_CACHE_CAPACITY))));
+    defaultMap.put(SYS_TOKEN_CACHE_TENANT_CAPACITY,
+        Integer.parseInt(System.getProperty(SYS_TOKEN_CACHE_TENANT_CAPACITY,
+          Integer.toString(DEFAULT_TOKEN_CACHE_TENANT_CAPACITY))));
+    defaultMap.put(SYS_TOKEN_REFRESH_FRACTION,
+        Double.parseDouble(System.getProperty(SYS_TOKEN_REFRESH_FRACTION,
+          Double.toString(DEFAULT_TOKEN_REFRESH_FRACTION))));
+    defaultMap.put(SYS_TOKEN_REFRESH_JITTER_MS,
+        Long.parseLong(System.getProperty(SYS_TOKEN_REFRESH_JITTER_MS,
+          Long.toString(DEFAULT_TOKEN_REFRESH_JITTER_MS))));
     defaultMap.put(SYS_SECURE_STORE_TYPE,
           System.getProperty(SYS_SECURE_STORE_TYPE, DEFAULT_SECURE_STORE_TYPE));
     defaultMap.put(SYS_RESPONSE_COMPRESSION,
         Boolean.parseBoolean(System.getProperty(SYS_RESPONSE_COMPRESSION,
           Boolean.toString(DEFAULT_RESPONSE_COMPRESSION))));
+    defaultMap.put(SYS_HTTP2,
+        Boolean.parseBoolean(System.getProperty(SYS_HTTP2,
+          Boolean.toString(DEFAULT_HTTP2))));
+    defaultMap.put(SYS_HTTP2_MAX_CONCURRENT_STREAMS,
+        Long.parseLong(System.getProperty(SYS_HTTP2_MAX_CONCURRENT_STREAMS,
+          Long.toString(DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS))));
+    defaultMap.put(SYS_HTTP2_INITIAL_WINDOW_SIZE,
+        Integer.parseInt(System.getProperty(SYS_HTTP2_INITIAL_WINDOW_SIZE,
+          Integer.toString(DEFAULT_HTTP2_INITIAL_WINDOW_SIZE))));
+    defaultMap.put(SYS_HTTP2_HEADER_TABLE_SIZE,
+        Long.parseLong(System.getProperty(SYS_HTTP2_HEADER_TABLE_SIZE,
+          Long.toString(DEFAULT_HTTP2_HEADER_TABLE_SIZE))));
+    defaultMap.put(SYS_METRICS,
+        Boolean.parseBoolean(System.getProperty(SYS_METRICS,
+          Boolean.toString(DEFAULT_METRICS))));
+    defaultMap.put(SYS_METRICS_PATH,
+        System.getProperty(SYS_METRICS_PATH, DEFAULT_METRICS_PATH));
+    defaultMap.put(SYS_METRICS_PORT,
+        Integer.parseInt(System.getProperty(SYS_METRICS_PORT,
+          Integer.toString(DEFAULT_METRICS_PORT))));
+    defaultMap.put(SYS_CONCURRENCY_LIMIT,
+        Boolean.parseBoolean(System.getProperty(SYS_CONCURRENCY_LIMIT,
+          Boolean.toString(DEFAULT_CONCURRENCY_LIMIT))));
+    defaultMap.put(SYS_CONCURRENCY_LIMIT_INITIAL,
+        Integer.parseInt(System.getProperty(SYS_CONCURRENCY_LIMIT_INITIAL,
+          Integer.toString(DEFAULT_CONCURRENCY_LIMIT_INITIAL))));
+    defaultMap.put(SYS_CONCURRENCY_LIMIT_MIN,
+        Integer.parseInt(System.getProperty(SYS_CONCURRENCY_LIMIT_MIN,
+          Integer.toString(DEFAULT_CONCURRENCY_LIMIT_MIN))));
+    defaultMap.put(SYS_CONCURRENCY_LIMIT_MAX,
+        Integer.parseInt(System.getProperty(SYS_CONCURRENCY_LIMIT_MAX,
+          Integer.toString(DEFAULT_CONCURRENCY_LIMIT_MAX))));
+    defaultMap.put(SYS_OKAPI_CLIENT_MAX_POOL_SIZE,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_MAX_POOL_SIZE,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_MAX_POOL_SIZE))));
+    defaultMap.put(SYS_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE))));
+    defaultMap.put(SYS_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S))));
+    defaultMap.put(SYS_OKAPI_CLIENT_PIPELINING,
+        Boolean.parseBoolean(System.getProperty(SYS_OKAPI_CLIENT_PIPELINING,
+          Boolean.toString(DEFAULT_OKAPI_CLIENT_PIPELINING))));
+    defaultMap.put(SYS_OKAPI_CLIENT_PIPELINING_LIMIT,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_PIPELINING_LIMIT,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_PIPELINING_LIMIT))));
+    defaultMap.put(SYS_OKAPI_CLIENT_HTTP2,
+        Boolean.parseBoolean(System.getProperty(SYS_OKAPI_CLIENT_HTTP2,
+          Boolean.toString(DEFAULT_OKAPI_CLIENT_HTTP2))));
+    defaultMap.put(SYS_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE))));
+    defaultMap.put(SYS_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT))));
+    defaultMap.put(SYS_WARMUP_CLIENTS,
+        System.getProperty(SYS_WARMUP_CLIENTS));
+    defaultMap.put(SYS_WARMUP_FILE,
+        System.getProperty(SYS_WARMUP_FILE));
+    defaultMap.put(SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD))));
+    defaultMap.put(SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS,
+        Long.parseLong(System.getProperty(SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS,
+          Long.toString(DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS))));
+    defaultMap.put(SYS_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT))));
+    defaultMap.put(SYS_OKAPI_CLIENT_HEDGING,
+        Boolean.parseBoolean(System.getProperty(SYS_OKAPI_CLIENT_HEDGING,
+          Boolean.toString(DEFAULT_OKAPI_CLIENT_HEDGING))));
+    defaultMap.put(SYS_OKAPI_CLIENT_HEDGING_PERCENTILE,
+        Double.parseDouble(System.getProperty(SYS_OKAPI_CLIENT_HEDGING_PERCENTILE,
+          Double.toString(DEFAULT_OKAPI_CLIENT_HEDGING_PERCENTILE))));
+    defaultMap.put(SYS_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT,
+        Double.parseDouble(System.getProperty(SYS_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT,
+          Double.toString(DEFAULT_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT))));
+    defaultMap.put(SYS_OKAPI_CLIENT_MAX_RETRIES,
+        Integer.parseInt(System.getProperty(SYS_OKAPI_CLIENT_MAX_RETRIES,
+          Integer.toString(DEFAULT_OKAPI_CLIENT_MAX_RETRIES))));
+    defaultMap.put(SYS_OKAPI_CLIENT_RETRY_BASE_DELAY_MS,
+        Long.parseLong(System.getProperty(SYS_OKAPI_CLIENT_RETRY_BASE_DELAY_MS,
+          Long.toString(DEFAULT_OKAPI_CLIENT_RETRY_BASE_DELAY_MS))));
+    defaultMap.put(SYS_OKAPI_CLIENT_RETRY_MAX_DELAY_MS,
+        Long.parseLong(System.getProperty(SYS_OKAPI_CLIENT_RETRY_MAX_DELAY_MS,
+          Long.toString(DEFAULT_OKAPI_CLIENT_RETRY_MAX_DELAY_MS))));
+    defaultMap.put(SYS_OKAPI_CLIENT_RETRY_BUDGET_PERCENT,
+        Double.parseDouble(System.getProperty(SYS_OKAPI_CLIENT_RETRY_BUDGET_PERCENT,
+          Double.toString(DEFAULT_OKAPI_CLIENT_RETRY_BUDGET_PERCENT))));
+    defaultMap.put(SYS_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES,
+        Long.parseLong(System.getProperty(SYS_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES,
+          Long.toString(DEFAULT_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES))));
+    defaultMap.put(SYS_WARMUP_CONCURRENCY,
+        Integer.parseInt(System.getProperty(SYS_WARMUP_CONCURRENCY,
+          Integer.toString(DEFAULT_WARMUP_CONCURRENCY))));
+    defaultMap.put(SYS_WARMUP_TIMEOUT_MS,
+        Long.parseLong(System.getProperty(SYS_WARMUP_TIMEOUT_MS,
+          Long.toString(DEFAULT_WARMUP_TIMEOUT_MS))));
+    defaultMap.put(SYS_INSTANCES,
+        Integer.parseInt(System.getProperty(SYS_INSTANCES,
+          Integer.toString(DEFAULT_INSTANCES))));
+    defaultMap.put(SYS_TRANSPORT,
+        System.getProperty(SYS_TRANSPORT, DEFAULT_TRANSPORT));
+    defaultMap.put(SYS_TCP_NO_DELAY,
+        Boolean.parseBoolean(System.getProperty(SYS_TCP_NO_DELAY,
+          Boolean.toString(DEFAULT_TCP_NO_DELAY))));
+    defaultMap.put(SYS_TCP_FAST_OPEN,
+        Boolean.parseBoolean(System.getProperty(SYS_TCP_FAST_OPEN,
+          Boolean.toString(DEFAULT_TCP_FAST_OPEN))));
+    defaultMap.put(SYS_TCP_QUICK_ACK,
+        Boolean.parseBoolean(System.getProperty(SYS_TCP_QUICK_ACK,
+          Boolean.toString(DEFAULT_TCP_QUICK_ACK))));
+    defaultMap.put(SYS_REUSE_PORT,
+        Boolean.parseBoolean(System.getProperty(SYS_REUSE_PORT,
+          Boolean.toString(DEFAULT_REUSE_PORT))));
+    defaultMap.put(SYS_RECEIVE_BUFFER_SIZE,
+        Integer.parseInt(System.getProperty(SYS_RECEIVE_BUFFER_SIZE,
+          Integer.toString(DEFAULT_RECEIVE_BUFFER_SIZE))));
+    defaultMap.put(SYS_SEND_BUFFER_SIZE,
+        Integer.parseInt(System.getProperty(SYS_SEND_BUFFER_SIZE,
+          Integer.toString(DEFAULT_SEND_BUFFER_SIZE))));
+    defaultMap.put(SYS_ACCEPT_BACKLOG,
+        Integer.parseInt(System.getProperty(SYS_ACCEPT_BACKLOG,
+          Integer.toString(DEFAULT_ACCEPT_BACKLOG))));
     defaultMap.put(SPRING_SSL_BUNDLE_JKS_WEBSERVER_KEYSTORE_TYPE,
         System.getenv().get(SPRING_SSL_BUNDLE_JKS_WEBSERVER_KEYSTORE_TYPE));
     defaultMap.put(SPRING_SSL_BUNDLE_JKS_WEBSERVER_KEYSTORE_LOCATION,
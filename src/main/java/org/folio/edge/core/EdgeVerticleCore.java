@@ -1,6 +1,7 @@
 package org.folio.edge.core;
 
 import io.vertx.core.AbstractVerticle;
+import io.vertx.core.DeploymentOptions;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonObject;
@@ -9,13 +10,21 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.folio.edge.core.cache.TokenCacheFactory;
+import org.folio.edge.core.cache.TokenRefresher;
+import org.folio.edge.core.model.ClientInfo;
 import org.folio.edge.core.security.SecureStore;
 import org.folio.edge.core.security.SecureStoreFactory;
+import org.folio.edge.core.utils.ConcurrencyLimiter;
+import org.folio.edge.core.utils.EdgeMetrics;
+import org.folio.edge.core.utils.HttpServerConfigurationUtil;
+import org.folio.edge.core.utils.OkapiClientFactory;
+import org.folio.edge.core.utils.OkapiClientFactoryInitializer;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
 import java.util.Properties;
 import java.util.regex.Pattern;
 
@@ -30,13 +39,44 @@ public class EdgeVerticleCore extends AbstractVerticle {
 
   protected SecureStore secureStore;
 
+  private SharedResources shared;
+
+  private OkapiClientFactory okapiClientFactory;
+
   private static final Pattern isURL = Pattern.compile("(?i)^http[s]?://.*");
 
+  /**
+   * Deployment options for the configured number of {@code instances} of an edge
+   * verticle, with the given config. All instances share the secure store,
+   * the token cache and the connection pool to Okapi, and HTTP servers listen
+   * on the same port.
+   */
+  public static DeploymentOptions deploymentOptions(JsonObject config) {
+    final int instances = config.getInteger(SYS_INSTANCES,
+        DEFAULT_DEPLOYMENT_OPTIONS.getInteger(SYS_INSTANCES));
+    return new DeploymentOptions()
+        .setConfig(config)
+        .setInstances(instances);
+  }
+
   @Override
   public void start(Promise<Void> promise) {
     JsonObject jo = Constants.DEFAULT_DEPLOYMENT_OPTIONS.copy();
     config().mergeIn(jo.mergeIn(config()));
 
+    // initialize once per deployment, the other instances share the result
+    shared = SharedResources.get(vertx, context.deploymentID());
+    shared.initialize(this::initializeShared)
+      .onSuccess(res -> secureStore = shared.getSecureStore())
+      .onComplete(promise);
+  }
+
+  @Override
+  public void stop() {
+    SharedResources.remove(vertx, context.deploymentID());
+  }
+
+  private Future<Void> initializeShared() {
     final String logLvl = config().getString(SYS_LOG_LEVEL);
     Configurator.setRootLevel(Level.toLevel(logLvl));
     logger.info("Using log level: {}", logLvl);
@@ -53,17 +93,91 @@ public class EdgeVerticleCore extends AbstractVerticle {
     final int cacheCapacity = config().getInteger(SYS_TOKEN_CACHE_CAPACITY);
     logger.info("Using token cache capacity: {}", cacheCapacity);
 
+    final int tenantCacheCapacity = config().getInteger(SYS_TOKEN_CACHE_TENANT_CAPACITY);
+    logger.info("Using token cache capacity per tenant: {}", tenantCacheCapacity);
+
     logger.info("Using request timeout (ms): {}", config().getLong(SYS_REQUEST_TIMEOUT_MS));
 
-    // initialize the TokenCache
-    TokenCacheFactory.initialize(cacheCapacity);
+    final double refreshFraction = config().getDouble(SYS_TOKEN_REFRESH_FRACTION);
+    logger.info("Using token refresh fraction: {}", refreshFraction);
+
+    final long refreshJitterMs = config().getLong(SYS_TOKEN_REFRESH_JITTER_MS);
+    logger.info("Using token refresh jitter (ms): {}", refreshJitterMs);
 
-    initializeSecureStore(config().getString(SYS_SECURE_STORE_PROP_FILE))
-      .onSuccess(res -> {
+    final boolean metrics = config().getBoolean(SYS_METRICS);
+    logger.info("Metrics enabled: {}", metrics);
+    if (metrics) {
+      EdgeMetrics.initialize();
+      EdgeMetrics.monitorEventLoopLag(vertx, DEFAULT_EVENT_LOOP_LAG_INTERVAL_MS);
+    }
+
+    shared.setConcurrencyLimiter(HttpServerConfigurationUtil.createConcurrencyLimiter(config()));
+
+    // initialize the TokenCache
+    TokenCacheFactory.initialize(cacheCapacity, tenantCacheCapacity);
+    TokenCacheFactory.setRefresher(refreshFraction > 0
+        ? new TokenRefresher(vertx, refreshFraction, refreshJitterMs, cacheTtlMs)
+        : null);
+
+    return initializeSecureStore(config().getString(SYS_SECURE_STORE_PROP_FILE))
+      .compose(res -> {
+        shared.setSecureStore(res);
         secureStore = res;
-        promise.complete();
-      })
-      .onFailure(promise::fail);
+        return warmUp();
+      });
+  }
+
+  /**
+   * @return the Okapi client factory of this instance, created on first use;
+   *         its clients are only to be used on this instance's context, the
+   *         connection pool and policies are shared by all instances of this
+   *         deployment
+   */
+  protected OkapiClientFactory getOkapiClientFactory() {
+    if (okapiClientFactory == null) {
+      okapiClientFactory = new OkapiClientFactory(
+          shared.getOkapiClientFactory(() -> OkapiClientFactoryInitializer.createInstance(vertx, config())));
+    }
+    return okapiClientFactory;
+  }
+
+  /**
+   * @return the adaptive concurrency limiter shared by all instances of this
+   *         deployment, fed with the latency of the requests to the edge
+   *         API; null if disabled
+   */
+  protected ConcurrencyLimiter getConcurrencyLimiter() {
+    return shared.getConcurrencyLimiter();
+  }
+
+  /**
+   * Pre-warm the secure store and the token cache for the clients listed in
+   * the warmup_clients system property and the warmup_file. Startup completes
+   * once warm-up finishes or times out.
+   */
+  protected Future<Void> warmUp() {
+    final String warmupFile = config().getString(SYS_WARMUP_FILE);
+    Future<String> fileClients = warmupFile == null
+        ? Future.succeededFuture("")
+        : vertx.fileSystem().readFile(warmupFile).map(buffer -> buffer.toString());
+
+    return fileClients.compose(clients -> {
+      List<ClientInfo> warmupClients = Warmup.parseClients(config().getString(SYS_WARMUP_CLIENTS));
+      warmupClients.addAll(Warmup.parseClients(clients));
+      if (warmupClients.isEmpty()) {
+        return Future.succeededFuture();
+      }
+
+      final int concurrency = config().getInteger(SYS_WARMUP_CONCURRENCY);
+      final long timeoutMs = config().getLong(SYS_WARMUP_TIMEOUT_MS);
+      logger.info("Using warm-up concurrency: {} timeout (ms): {}", concurrency, timeoutMs);
+
+      // without an okapi URL only the secure store can be warmed
+      OkapiClientFactory okapiClientFactory = config().getString(SYS_OKAPI_URL) == null
+          ? null
+          : getOkapiClientFactory();
+      return new Warmup(vertx, secureStore, okapiClientFactory, concurrency).run(warmupClients, timeoutMs);
+    });
   }
 
   protected Future<SecureStore> initializeSecureStore(String secureStorePropFile) {
@@ -1,20 +1,29 @@
 package org.folio.edge.core;
 
+import static org.folio.edge.core.Constants.HEADER_RETRY_AFTER;
+import static org.folio.edge.core.Constants.SYS_METRICS_PATH;
+import static org.folio.edge.core.Constants.SYS_METRICS_PORT;
 import static org.folio.edge.core.Constants.SYS_PORT;
 import static org.folio.edge.core.Constants.SYS_RESPONSE_COMPRESSION;
 import static org.folio.edge.core.Constants.TEXT_PLAIN;
+import static org.folio.edge.core.Constants.TEXT_PROMETHEUS;
 
 import io.vertx.core.Future;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.Promise;
 import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServer;
+import io.vertx.ext.web.Route;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.edge.core.utils.ConcurrencyLimiter;
+import org.folio.edge.core.utils.EdgeMetrics;
+import org.folio.edge.core.utils.HttpServerConfigurationUtil;
 import org.folio.edge.core.utils.SslConfigurationUtil;
+import org.folio.edge.core.utils.TransportConfigurationUtil;
 
 /**
  * Verticle for edge module which starts a HTTP service.
@@ -23,6 +32,8 @@ public abstract class EdgeVerticleHttp extends EdgeVerticleCore {
 
   private static final Logger logger = LogManager.getLogger(EdgeVerticleHttp.class);
 
+  private static final String ADMIN_PATH_PREFIX = "/admin/";
+
   @Override
   public void start(Promise<Void> promise) {
     Future.<Void>future(p -> super.start(p)).<Void>compose(res -> {
@@ -39,18 +50,96 @@ public abstract class EdgeVerticleHttp extends EdgeVerticleCore {
       // initialize tls/ssl configuration for web server
       SslConfigurationUtil.configureSslServerOptionsIfEnabled(config(), serverOptions);
 
+      // initialize HTTP/2, after tls/ssl so ALPN applies
+      HttpServerConfigurationUtil.configureHttp2IfEnabled(config(), serverOptions);
+
+      // initialize TCP options
+      TransportConfigurationUtil.configureServerOptions(config(), serverOptions);
+
       final HttpServer server = getVertx().createHttpServer(serverOptions);
 
       final Router router = defineRoutes();
 
-      return server.requestHandler(router)
+      // record all requests, including those shed below
+      Future<Void> metricsServer = Future.succeededFuture();
+      if (EdgeMetrics.isEnabled()) {
+        final String metricsPath = config().getString(SYS_METRICS_PATH);
+        final int metricsPort = config().getInteger(SYS_METRICS_PORT);
+        router.route().order(Integer.MIN_VALUE).handler(EdgeVerticleHttp::recordMetrics);
+        if (metricsPort > 0) {
+          // keep the metrics, which name tenants, off the public port
+          logger.info("Serving metrics at: {} on port: {}", metricsPath, metricsPort);
+          final Router metricsRouter = Router.router(getVertx());
+          metricsRouter.get(metricsPath).handler(this::handleMetrics);
+          metricsServer = getVertx().createHttpServer()
+            .requestHandler(metricsRouter)
+            .listen(metricsPort)
+            .mapEmpty();
+        } else {
+          logger.info("Serving metrics at: {}", metricsPath);
+          router.get(metricsPath).order(Integer.MIN_VALUE).handler(this::handleMetrics);
+        }
+      }
+
+      // shed load above the adaptive concurrency limit, ahead of all routes
+      final ConcurrencyLimiter limiter = getConcurrencyLimiter();
+      if (limiter != null) {
+        router.route().order(Integer.MIN_VALUE).handler(ctx -> limitConcurrency(limiter, ctx));
+      }
+
+      return metricsServer.compose(v -> server.requestHandler(router)
         .listen(port)
-        .mapEmpty();
+        .mapEmpty());
     }).onComplete(promise);
   }
 
   public abstract Router defineRoutes();
 
+  private static void limitConcurrency(ConcurrencyLimiter limiter, RoutingContext ctx) {
+    // never shed health checks
+    if (ctx.request().path().startsWith(ADMIN_PATH_PREFIX)) {
+      ctx.next();
+      return;
+    }
+    if (!limiter.tryAcquire()) {
+      ctx.response()
+        .setStatusCode(503)
+        .putHeader(HEADER_RETRY_AFTER, "1")
+        .putHeader(HttpHeaders.CONTENT_TYPE, TEXT_PLAIN)
+        .end("Too many concurrent requests");
+      return;
+    }
+    // called once the response has ended or failed; sampling the latency here
+    // works whichever Okapi client factory the routes use
+    final long start = System.nanoTime();
+    ctx.addEndHandler(ar -> {
+      limiter.onSample(System.nanoTime() - start);
+      limiter.release();
+    });
+    ctx.next();
+  }
+
+  private static void recordMetrics(RoutingContext ctx) {
+    final long start = System.nanoTime();
+    ctx.addEndHandler(ar -> {
+      // the route that ended the response
+      Route route = ctx.currentRoute();
+      String name = route == null || route.getName() == null ? "other" : route.getName();
+      String tenant = ctx.get(EdgeMetrics.TENANT);
+      EdgeMetrics.recordRequest(name, ctx.request().method().name(),
+          tenant == null ? EdgeMetrics.UNKNOWN : tenant, ctx.response().getStatusCode(),
+          System.nanoTime() - start);
+    });
+    ctx.next();
+  }
+
+  protected void handleMetrics(RoutingContext ctx) {
+    ctx.response()
+      .setStatusCode(200)
+      .putHeader(HttpHeaders.CONTENT_TYPE, TEXT_PROMETHEUS)
+      .end(EdgeMetrics.scrape());
+  }
+
   protected void handleHealthCheck(RoutingContext ctx) {
     ctx.response()
       .setStatusCode(200)
@@ -1,6 +1,7 @@
 package org.folio.edge.core;
 
 import static org.folio.edge.core.Constants.DEFAULT_API_KEY_SOURCES;
+import static org.folio.edge.core.Constants.HEADER_RETRY_AFTER;
 import static org.folio.edge.core.Constants.MSG_INVALID_API_KEY;
 import static org.folio.edge.core.Constants.TEXT_PLAIN;
 import static org.folio.edge.core.Constants.TEXT_XML;
@@ -16,10 +17,14 @@ import org.folio.edge.core.model.ClientInfo;
 import org.folio.edge.core.security.SecureStore;
 import org.folio.edge.core.utils.ApiKeyUtils;
 import org.folio.edge.core.utils.ApiKeyUtils.MalformedApiKeyException;
+import org.folio.edge.core.utils.EdgeMetrics;
 import org.folio.edge.core.utils.OkapiClient;
 import org.folio.edge.core.utils.OkapiClientFactory;
+import org.folio.edge.core.utils.ServiceUnavailableException;
 
+import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
 public class Handler {
@@ -73,7 +78,11 @@ public class Handler {
 
     final OkapiClient client = ocf.getOkapiClient(clientInfo.tenantId);
     iuHelper.fetchToken(client, clientInfo.salt, clientInfo.tenantId, clientInfo.username)
-            .onSuccess(token -> action.apply(client, params))
+            .onSuccess(token -> {
+              // only tag metrics with authenticated tenants, anyone can make up API keys
+              ctx.put(EdgeMetrics.TENANT, clientInfo.tenantId);
+              action.apply(client, params);
+            })
             .onFailure(t -> {
               logger.info("Handler failure {}", t.getMessage());
               if (isTimeoutException(t)) {
@@ -111,7 +120,33 @@ public class Handler {
     }
   }
 
+  /**
+   * Stream the response of {@link OkapiClient#send} to the client, copying
+   * status and content type, with backpressure and without buffering the body.
+   */
+  protected void handleProxyResponse(RoutingContext ctx, HttpClientResponse resp) {
+    HttpServerResponse response = ctx.response();
+    response.setStatusCode(resp.statusCode());
+    String contentType = resp.getHeader(HttpHeaders.CONTENT_TYPE);
+    if (contentType != null) {
+      response.putHeader(HttpHeaders.CONTENT_TYPE, contentType);
+    }
+    String contentLength = resp.getHeader(HttpHeaders.CONTENT_LENGTH);
+    if (contentLength != null) {
+      response.putHeader(HttpHeaders.CONTENT_LENGTH, contentLength);
+    } else {
+      response.setChunked(true);
+    }
+    resp.pipeTo(response)
+      .onFailure(t -> logger.error("Exception streaming response from OKAPI: {}", t.getMessage(), t));
+  }
+
   protected void handleProxyException(RoutingContext ctx, Throwable t) {
+    if (t instanceof ServiceUnavailableException) {
+      logger.warn("Request to OKAPI rejected: {}", t.getMessage());
+      serviceUnavailable(ctx, t.getMessage(), ((ServiceUnavailableException) t).getRetryAfterSeconds());
+      return;
+    }
     logger.error("Exception calling OKAPI class={}", t.getClass(), t);
     if (isTimeoutException(t)) {
       requestTimeout(ctx, t.getMessage());
@@ -171,6 +206,22 @@ public class Handler {
     }
   }
 
+  /**
+   * @param retryAfterSeconds
+   *          sent as Retry-After, 0 to omit it
+   */
+  protected void serviceUnavailable(RoutingContext ctx, String msg, long retryAfterSeconds) {
+    if (!ctx.response().ended()) {
+      if (retryAfterSeconds > 0) {
+        ctx.response().putHeader(HEADER_RETRY_AFTER, Long.toString(retryAfterSeconds));
+      }
+      ctx.response()
+        .setStatusCode(503)
+        .putHeader(HttpHeaders.CONTENT_TYPE, TEXT_PLAIN)
+        .end(msg);
+    }
+  }
+
   @FunctionalInterface
   public interface TwoParamVoidFunction<A, B> {
     void apply(A a, B b);
@@ -4,17 +4,41 @@ import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.folio.edge.core.cache.TokenCacheFactory;
+import org.folio.edge.core.cache.TokenRefresher;
 import org.folio.edge.core.model.ClientInfo;
 import org.folio.edge.core.security.SecureStore;
 import org.folio.edge.core.utils.ApiKeyUtils;
 import org.folio.edge.core.utils.ApiKeyUtils.MalformedApiKeyException;
+import org.folio.edge.core.utils.EdgeMetrics;
 import org.folio.edge.core.utils.OkapiClient;
+import org.folio.edge.core.utils.SingleFlight;
 
 public class InstitutionalUserHelper {
   protected final SecureStore secureStore;
 
+  /**
+   * Token requests in flight per secure store, keyed by Okapi URL, clientId,
+   * tenant and username. Shared by all helpers of a secure store so
+   * concurrent requests for an expired token trigger a single secure store
+   * lookup and login.
+   */
+  private static final Map<SecureStore, SingleFlight<String, Login>> tokenRequestsByStore =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final SingleFlight<String, Login> tokenRequests;
+
   public InstitutionalUserHelper(SecureStore secureStore) {
     this.secureStore = secureStore;
+    this.tokenRequests = secureStore == null
+        ? new SingleFlight<>()
+        : tokenRequestsByStore.computeIfAbsent(secureStore, store -> new SingleFlight<>());
   }
 
   /**
@@ -33,9 +57,57 @@ public class InstitutionalUserHelper {
     return ApiKeyUtils.parseApiKey(apiKey);
   }
 
+  /**
+   * Get a token for the institutional user, logging in if needed.
+   *
+   * <p>Concurrent calls for the same Okapi URL, clientId, tenant and username
+   * share a single in-flight login. Every caller completes on its own
+   * context, the client is only used there. If proactive refresh is enabled
+   * the token is tracked by the {@link TokenRefresher}.
+   */
   public Future<String> fetchToken(OkapiClient client, String clientId, String tenant, String username) {
-    return client.loginWithSupplier(username,
-            () -> secureStore.get(getVertx(), clientId, tenant, username));
+    String key = client.okapiURL + "\t" + clientId + "\t" + tenant + "\t" + username;
+    Context context = Vertx.currentContext();
+    Supplier<Future<String>> passwordSupplier = () -> EdgeMetrics.timeSecureStore(
+        () -> secureStore.get(getVertx(), clientId, tenant, username));
+    Future<Login> login = tokenRequests.execute(key, () -> {
+      // the password is only needed if the token isn't cached
+      AtomicBoolean miss = new AtomicBoolean();
+      return client.loginWithSupplier(username, () -> {
+        miss.set(true);
+        return passwordSupplier.get();
+      }).onSuccess(token -> {
+        // only logins that succeeded, the tenant of a failed one may be made up
+        if (token != null) {
+          EdgeMetrics.recordTokenCache(tenant, !miss.get());
+        }
+      }).map(token -> new Login(client, token));
+    });
+    if (context != null) {
+      // the leader completes on its own context
+      login = Future.fromCompletionStage(login.toCompletionStage(), context);
+    }
+    return login.map(result -> {
+      String token = result.token();
+      // a waiter may hold another client instance than the one that logged in
+      if (result.client() != client) {
+        client.shareTokenClient(result.client());
+      }
+      if (token != null && !token.equals(client.getToken())) {
+        client.setToken(token);
+      }
+      TokenRefresher refresher = TokenCacheFactory.getRefresher();
+      if (refresher != null && token != null) {
+        refresher.track(client, clientId, tenant, username, passwordSupplier, token);
+      }
+      return token;
+    });
+  }
+
+  /**
+   * The client that logged in and the token it got.
+   */
+  private record Login(OkapiClient client, String token) {
   }
 
   private Vertx getVertx() {
@@ -0,0 +1,73 @@
+package org.folio.edge.core;
+
+import java.util.function.Supplier;
+
+import org.folio.edge.core.security.SecureStore;
+import org.folio.edge.core.utils.ConcurrencyLimiter;
+import org.folio.edge.core.utils.OkapiClientFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+/**
+ * Resources initialized once and shared by all instances of a deployment:
+ * the secure store, the Okapi client factory whose connection pool and
+ * policies the factories of the instances share, and the concurrency limiter.
+ * Kept in a local map keyed by deployment ID.
+ */
+final class SharedResources implements Shareable {
+
+  private static final String MAP_NAME = SharedResources.class.getName();
+
+  private Future<Void> initialized;
+  private SecureStore secureStore;
+  private OkapiClientFactory okapiClientFactory;
+  private ConcurrencyLimiter concurrencyLimiter;
+
+  private SharedResources() {
+  }
+
+  static SharedResources get(Vertx vertx, String deploymentId) {
+    LocalMap<String, SharedResources> map = vertx.sharedData().getLocalMap(MAP_NAME);
+    return map.computeIfAbsent(deploymentId, id -> new SharedResources());
+  }
+
+  static void remove(Vertx vertx, String deploymentId) {
+    vertx.sharedData().getLocalMap(MAP_NAME).remove(deploymentId);
+  }
+
+  /**
+   * Run the initializer of the first instance, all instances get its result.
+   */
+  synchronized Future<Void> initialize(Supplier<Future<Void>> initializer) {
+    if (initialized == null) {
+      initialized = initializer.get();
+    }
+    return initialized;
+  }
+
+  synchronized SecureStore getSecureStore() {
+    return secureStore;
+  }
+
+  synchronized void setSecureStore(SecureStore secureStore) {
+    this.secureStore = secureStore;
+  }
+
+  synchronized ConcurrencyLimiter getConcurrencyLimiter() {
+    return concurrencyLimiter;
+  }
+
+  synchronized void setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  synchronized OkapiClientFactory getOkapiClientFactory(Supplier<OkapiClientFactory> factory) {
+    if (okapiClientFactory == null) {
+      okapiClientFactory = factory.get();
+    }
+    return okapiClientFactory;
+  }
+}
@@ -0,0 +1,140 @@
+package org.folio.edge.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.edge.core.model.ClientInfo;
+import org.folio.edge.core.security.SecureStore;
+import org.folio.edge.core.utils.ApiKeyUtils;
+import org.folio.edge.core.utils.ApiKeyUtils.MalformedApiKeyException;
+import org.folio.edge.core.utils.OkapiClientFactory;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Pre-warms the secure store and the token cache for a known list of
+ * institutional users, so the first request of each tenant doesn't pay for a
+ * cold secret lookup and login.
+ *
+ * <p>Failures are logged and otherwise ignored, warm-up is best effort.
+ */
+public class Warmup {
+
+  private static final Logger logger = LogManager.getLogger(Warmup.class);
+
+  private final Vertx vertx;
+  private final SecureStore secureStore;
+  private final OkapiClientFactory okapiClientFactory;
+  private final int concurrency;
+
+  /**
+   * @param okapiClientFactory
+   *          used to log in, null to only read the secure store
+   * @param concurrency
+   *          max number of clients warmed at the same time
+   */
+  public Warmup(Vertx vertx, SecureStore secureStore, OkapiClientFactory okapiClientFactory, int concurrency) {
+    this.vertx = vertx;
+    this.secureStore = secureStore;
+    this.okapiClientFactory = okapiClientFactory;
+    this.concurrency = Math.max(1, concurrency);
+  }
+
+  /**
+   * Warm up the given clients.
+   *
+   * @return a future that always succeeds, once every client is warmed or
+   *         timeoutMs elapsed, whichever comes first
+   */
+  public Future<Void> run(List<ClientInfo> clients, long timeoutMs) {
+    if (clients.isEmpty()) {
+      return Future.succeededFuture();
+    }
+
+    logger.info("Warming up {} clients, concurrency: {}", clients.size(), concurrency);
+    long start = System.currentTimeMillis();
+    AtomicInteger next = new AtomicInteger();
+    AtomicInteger warmed = new AtomicInteger();
+    List<Future<Void>> workers = new ArrayList<>();
+    for (int i = 0; i < Math.min(concurrency, clients.size()); i++) {
+      workers.add(work(clients, next, warmed));
+    }
+
+    return Future.all(workers)
+      .timeout(timeoutMs, TimeUnit.MILLISECONDS)
+      .<Void>mapEmpty()
+      .otherwise(t -> {
+        logger.warn("Warm-up timed out after {} ms", timeoutMs);
+        return null;
+      })
+      .onComplete(x -> logger.info("Warmed up {} of {} clients in {} ms", warmed.get(), clients.size(),
+          System.currentTimeMillis() - start));
+  }
+
+  /**
+   * Warm up clients one at a time until the list is exhausted.
+   */
+  private Future<Void> work(List<ClientInfo> clients, AtomicInteger next, AtomicInteger warmed) {
+    int i = next.getAndIncrement();
+    if (i >= clients.size()) {
+      return Future.succeededFuture();
+    }
+    ClientInfo client = clients.get(i);
+    return warm(client)
+      .onSuccess(x -> warmed.incrementAndGet())
+      .otherwise(t -> {
+        logger.warn("Failed to warm up tenant: {} username: {}: {}", client.tenantId, client.username,
+            t.getMessage());
+        return null;
+      })
+      .compose(x -> work(clients, next, warmed));
+  }
+
+  private Future<Void> warm(ClientInfo client) {
+    if (okapiClientFactory == null) {
+      return secureStore.get(vertx, client.salt, client.tenantId, client.username).mapEmpty();
+    }
+    return new InstitutionalUserHelper(secureStore)
+      .fetchToken(okapiClientFactory.getOkapiClient(client.tenantId), client.salt, client.tenantId,
+          client.username)
+      .mapEmpty();
+  }
+
+  /**
+   * Parse a list of clients separated by commas or whitespace. Each client is
+   * either an API key or a <code>salt:tenant:username</code> triple. Lines
+   * starting with # are ignored, malformed entries are logged and skipped.
+   */
+  public static List<ClientInfo> parseClients(String clients) {
+    List<ClientInfo> ret = new ArrayList<>();
+    if (clients == null) {
+      return ret;
+    }
+    for (String line : clients.split("\\R")) {
+      if (line.trim().startsWith("#")) {
+        continue;
+      }
+      for (String entry : line.split("[,\\s]+")) {
+        if (entry.isEmpty()) {
+          continue;
+        }
+        String[] parts = entry.split(":", -1);
+        if (parts.length == 3) {
+          ret.add(new ClientInfo(parts[0], parts[1], parts[2]));
+          continue;
+        }
+        try {
+          ret.add(ApiKeyUtils.parseApiKey(entry));
+        } catch (MalformedApiKeyException e) {
+          logger.warn("Ignoring malformed warm-up client: {}", entry);
+        }
+      }
+    }
+    return ret;
+  }
+}
@@ -1,40 +1,102 @@
 package org.folio.edge.core.cache;
 
-import java.util.LinkedHashMap;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import io.vertx.core.Vertx;
+
 /**
  * A general purpose cache storing entries with a set TTL,
  *
+ * <p>Reads are lock-free lookups in a {@link ConcurrentHashMap}. Writes are
+ * serialized by a single lock that also guards an intrusive, insertion-ordered
+ * list of the cached entries, so evicting the oldest entry once the cache is
+ * above capacity is O(1) and never copies the map.
+ *
+ * <p>Optionally an expiry sweeper can be enabled with
+ * {@link Builder#withExpirySweeper(Vertx, long, int)}. Entries are then
+ * bucketed in a {@link TimerWheel} that a single Vert.x periodic timer
+ * advances, evicting expired entries in small batches. Lookups compare against
+ * the time of the last tick instead of reading the system clock.
+ *
  * @param <T>
  */
 public class Cache<T> {
 
   private static final Logger logger = LogManager.getLogger(Cache.class);
 
-  private LinkedHashMap<String, CacheValue<T>> storage;
+  private final ConcurrentHashMap<String, Node<T>> storage;
+  private final ReentrantLock lock = new ReentrantLock();
   private final long ttl;
   private final long nullValueTtl;
   private final int capacity;
+  private final Consumer<T> removalListener;
+
+  // expiry sweeper, null unless enabled
+  private final TimerWheel<T> wheel;
+  private final ArrayDeque<Node<T>> pendingEviction = new ArrayDeque<>();
+  private final int sweepBatchSize;
+  private final Vertx vertx;
+  private final long timerId;
+  // coarse clock, advanced on every sweep
+  private volatile long now;
+  // sweeper stopped, back to the system clock
+  private volatile boolean closed;
+
+  // insertion order list, oldest entry at the head, guarded by lock
+  private Node<T> head;
+  private Node<T> tail;
 
-  private Cache(long ttl, long nullValueTtl, int capacity) {
+  private Cache(long ttl, long nullValueTtl, int capacity, Consumer<T> removalListener, Vertx vertx,
+      long sweepIntervalMs, int sweepBatchSize) {
     this.ttl = ttl;
     this.nullValueTtl = nullValueTtl;
     this.capacity = capacity;
-    storage = new LinkedHashMap<>(capacity);
+    this.removalListener = removalListener;
+    this.vertx = vertx;
+    this.sweepBatchSize = sweepBatchSize;
+    storage = new ConcurrentHashMap<>(capacity);
+
+    if (vertx == null) {
+      wheel = null;
+      timerId = -1;
+    } else {
+      now = System.currentTimeMillis();
+      wheel = new TimerWheel<>(now);
+      timerId = vertx.setPeriodic(sweepIntervalMs, id -> sweep());
+    }
   }
 
   public T get(String key) {
-    CacheValue<T> cached = storage.get(key);
+    CacheValue<T> cached = getCached(key);
+    return cached == null ? null : cached.value;
+  }
 
-    if (cached != null) {
-      if (cached.expired()) {
-        storage.remove(key);
+  /**
+   * Like {@link #get(String)}, but tells a cached null value apart from a
+   * cache miss.
+   *
+   * @return the unexpired cache entry, or null if there's none
+   */
+  public CacheValue<T> getCached(String key) {
+    Node<T> node = storage.get(key);
+
+    if (node != null) {
+      if (expired(node)) {
+        lock.lock();
+        try {
+          remove(node);
+        } finally {
+          lock.unlock();
+        }
         return null;
       } else {
-        return cached.value;
+        return node.cached;
       }
     } else {
       return null;
@@ -43,51 +105,182 @@ public class Cache<T> {
 
   public CacheValue<T> put(String key, T value) {
     // Double-checked locking...
-    CacheValue<T> cached = storage.get(key);
-    if (cached == null || cached.expired()) {
-
-      // lock to safeguard against multiple threads
-      // trying to cache the same key at the same time
-      synchronized (this) {
-        cached = storage.get(key);
-        if (cached == null || cached.expired()) {
-          cached = new CacheValue<>(value, System.currentTimeMillis() + (value == null ? nullValueTtl : ttl));
-          storage.put(key, cached);
+    Node<T> node = storage.get(key);
+    if (node != null && !expired(node)) {
+      return node.cached;
+    }
+
+    // lock to safeguard against multiple threads
+    // trying to cache the same key at the same time
+    lock.lock();
+    try {
+      node = storage.get(key);
+      if (node != null) {
+        if (!expired(node)) {
+          return node.cached;
+        }
+        remove(node);
+      }
+
+      node = new Node<>(key,
+          new CacheValue<>(value, System.currentTimeMillis() + (value == null ? nullValueTtl : ttl)));
+      storage.put(key, node);
+      link(node);
+      if (wheel != null && !closed) {
+        if (expired(node)) {
+          pendingEviction.add(node);
+        } else {
+          wheel.schedule(node);
         }
       }
+
+      if (storage.size() > capacity) {
+        prune();
+      }
+      return node.cached;
+    } finally {
+      lock.unlock();
     }
+  }
 
-    if (storage.size() >= capacity) {
-      prune();
+  /**
+   * @return the number of entries currently held, including expired entries
+   *         that have not been evicted yet
+   */
+  public int size() {
+    return storage.size();
+  }
+
+  /**
+   * Stop the expiry sweeper, if enabled. The cache remains usable, expired
+   * entries are then only evicted when read or pruned.
+   */
+  public void close() {
+    if (vertx == null) {
+      return;
+    }
+    vertx.cancelTimer(timerId);
+    lock.lock();
+    try {
+      closed = true;
+      pendingEviction.clear();
+    } finally {
+      lock.unlock();
     }
+  }
 
-    return cached;
+  /**
+   * Advance the coarse clock and the timer wheel, then evict at most
+   * sweepBatchSize expired entries. Entries left over are evicted by the
+   * following sweeps.
+   */
+  void sweep() {
+    now = System.currentTimeMillis();
+    lock.lock();
+    try {
+      if (closed) {
+        return;
+      }
+      wheel.advance(now, pendingEviction::add);
+      for (int i = 0; i < sweepBatchSize; i++) {
+        Node<T> node = pendingEviction.poll();
+        if (node == null) {
+          break;
+        }
+        remove(node);
+      }
+      if (!pendingEviction.isEmpty()) {
+        logger.debug("Expired cache entries pending eviction: {}", pendingEviction.size());
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long currentTime() {
+    return wheel == null || closed ? System.currentTimeMillis() : now;
+  }
+
+  private boolean expired(Node<T> node) {
+    return node.cached.expires < currentTime();
   }
 
+  /**
+   * Evict expired entries from the head of the insertion order list, then the
+   * oldest entries until the cache is back within capacity. Every entry is
+   * unlinked at most once, so the cost is amortized O(1) per put.
+   *
+   * Must be called while holding the lock.
+   */
   private void prune() {
-    logger.info("Cache size before pruning: {}", storage.size());
+    while (head != null && expired(head)) {
+      logger.debug("Pruning expired cache entry: {}", head.key);
+      remove(head);
+    }
 
-    LinkedHashMap<String, CacheValue<T>> updated = new LinkedHashMap<>(capacity);
-    storage.forEach((key, val) -> {
-      if (val != null && !val.expired()) {
-        updated.put(key, val);
-      } else {
-        logger.info("Pruning expired cache entry: {}", key);
+    while (storage.size() > capacity && head != null) {
+      logger.debug("Cache is above capacity. Removing oldest entry ({})", head.key);
+      remove(head);
+    }
+  }
+
+  /**
+   * Must be called while holding the lock.
+   */
+  private void remove(Node<T> node) {
+    if (storage.remove(node.key, node)) {
+      unlink(node);
+      if (wheel != null) {
+        wheel.deschedule(node);
+      }
+      if (removalListener != null && node.cached.value != null) {
+        removalListener.accept(node.cached.value);
       }
-    });
+    }
+  }
 
-    if (updated.size() > capacity) {
-      // this works because LinkedHashMap maintains order of insertion
-      String key = updated.keySet().iterator().next();
-      logger.info("Cache is above capacity and doesn't contain expired entries."
-              + " Removing oldest entry ({})", key);
-      updated.remove(key);
+  private void link(Node<T> node) {
+    node.prev = tail;
+    node.next = null;
+    if (tail == null) {
+      head = node;
+    } else {
+      tail.next = node;
     }
+    tail = node;
+  }
 
-    // atomic swap-in updated cache.
-    storage = updated;
+  private void unlink(Node<T> node) {
+    if (node.prev == null) {
+      head = node.next;
+    } else {
+      node.prev.next = node.next;
+    }
+    if (node.next == null) {
+      tail = node.prev;
+    } else {
+      node.next.prev = node.prev;
+    }
+    node.prev = null;
+    node.next = null;
+  }
 
-    logger.info("Cache size after pruning: {}", updated.size());
+  /**
+   * Storage node linking a cache entry into the insertion order list and,
+   * when the expiry sweeper is enabled, into a bucket of the timer wheel.
+   */
+  static final class Node<T> {
+    final String key;
+    final CacheValue<T> cached;
+    Node<T> prev;
+    Node<T> next;
+    Node<T> wheelPrev;
+    Node<T> wheelNext;
+
+    Node(String key, CacheValue<T> cached) {
+      this.key = key;
+      this.cached = cached;
+    }
   }
 
   /**
@@ -117,6 +310,10 @@ public class Cache<T> {
     private Long ttl = null;
     private Long nullValueTtl = null;
     private Integer capacity = null;
+    private Consumer<T> removalListener = null;
+    private Vertx vertx = null;
+    private long sweepIntervalMs;
+    private int sweepBatchSize;
 
     public Builder() {
       // nothing to do here...
@@ -137,6 +334,35 @@ public class Cache<T> {
       return this;
     }
 
+    /**
+     * Set a listener notified with the value of every non-null entry removed
+     * from the cache, whether expired or evicted. It's called while holding
+     * the cache's write lock, so it must be quick and must not call back into
+     * the cache.
+     */
+    public Builder<T> withRemovalListener(Consumer<T> removalListener) {
+      this.removalListener = removalListener;
+      return this;
+    }
+
+    /**
+     * Enable the expiry sweeper.
+     *
+     * @param vertx
+     *          the Vert.x instance running the periodic sweep timer
+     * @param intervalMs
+     *          how often to sweep; also the resolution of the coarse clock
+     *          used for lookups
+     * @param batchSize
+     *          max number of expired entries evicted per sweep
+     */
+    public Builder<T> withExpirySweeper(Vertx vertx, long intervalMs, int batchSize) {
+      this.vertx = vertx;
+      this.sweepIntervalMs = intervalMs;
+      this.sweepBatchSize = batchSize;
+      return this;
+    }
+
     public Cache<T> build() {
       if (ttl == null) {
         throw new IllegalStateException("TTL must be specified");
@@ -144,8 +370,11 @@ public class Cache<T> {
         throw new IllegalStateException("Null Value TTL must be specified");
       } else if (capacity == null) {
         throw new IllegalStateException("Capacity must be specified");
+      } else if (vertx != null && (sweepIntervalMs <= 0 || sweepBatchSize <= 0)) {
+        throw new IllegalStateException("Sweep interval and batch size must be positive");
       }
-      return new Cache<>(ttl, nullValueTtl, capacity);
+      return new Cache<>(ttl, nullValueTtl, capacity, removalListener, vertx, sweepIntervalMs,
+          sweepBatchSize);
     }
   }
 }
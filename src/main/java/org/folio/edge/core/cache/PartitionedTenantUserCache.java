@@ -0,0 +1,216 @@
+package org.folio.edge.core.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.edge.core.utils.EdgeMetrics;
+import org.folio.okapi.common.refreshtoken.tokencache.TenantUserCache;
+
+/**
+ * A token cache partitioned by tenant, so a tenant with many institutional
+ * users can't evict the tokens of all other tenants.
+ *
+ * <p>Each tenant holds at most tenantCapacity tokens, evicting its own least
+ * recently used token beyond that. Once the cache as a whole is above
+ * capacity, the least recently used token of the largest partition is
+ * evicted, so the tenants using most of the cache give way first. Expired
+ * tokens are always evicted before unexpired ones.
+ *
+ * <p>Lookups are lock-free. Writes, i.e. logins and refreshes, are
+ * serialized by a single lock; evicting scans one partition, or the list of
+ * partitions to find the largest.
+ */
+public class PartitionedTenantUserCache extends TenantUserCache {
+
+  private static final Logger logger = LogManager.getLogger(PartitionedTenantUserCache.class);
+
+  private final int capacity;
+  private final int tenantCapacity;
+  private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  // guarded by lock
+  private int size;
+
+  /**
+   * @param capacity
+   *          max number of tokens of all tenants
+   * @param tenantCapacity
+   *          max number of tokens of a single tenant, 0 for no quota other
+   *          than capacity
+   */
+  public PartitionedTenantUserCache(int capacity, int tenantCapacity) {
+    // the parent's storage is unused
+    super(1);
+    this.capacity = capacity;
+    this.tenantCapacity = tenantCapacity <= 0 ? capacity : Math.min(tenantCapacity, capacity);
+  }
+
+  @Override
+  public String get(String tenant, String username) {
+    // no partition for a lookup alone, tenants of bogus API keys mustn't grow the cache
+    Partition partition = partitions.get(tenant);
+    if (partition == null) {
+      return null;
+    }
+    Entry entry = partition.entries.get(username);
+    if (entry == null || entry.expires < System.currentTimeMillis()) {
+      partition.misses.increment();
+      return null;
+    }
+    entry.lastAccess = System.nanoTime();
+    partition.hits.increment();
+    return entry.token;
+  }
+
+  @Override
+  public void put(String tenant, String username, String token, long expires) {
+    lock.lock();
+    try {
+      Partition partition = partitions.computeIfAbsent(tenant, Partition::new);
+      Entry entry = new Entry(token, expires, System.nanoTime());
+      if (partition.entries.put(username, entry) != null) {
+        return;
+      }
+      size++;
+      if (partition.entries.size() > tenantCapacity) {
+        evict(partition, entry);
+      }
+      if (size > capacity) {
+        evict(largest(partition), entry);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the number of cached tokens of all tenants, including expired
+   *         tokens that have not been evicted yet
+   */
+  public int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return a snapshot of the partition of the tenant, all zeros if no
+   *         token of the tenant has ever been cached; lookups before the
+   *         first token of a tenant is cached are not counted
+   */
+  public PartitionStats getStats(String tenant) {
+    Partition partition = partitions.get(tenant);
+    if (partition == null) {
+      return new PartitionStats(0, 0, 0, 0);
+    }
+    return new PartitionStats(partition.entries.size(), partition.hits.sum(), partition.misses.sum(),
+        partition.evictions.sum());
+  }
+
+  /**
+   * The partition with the most tokens, not counting the token being added
+   * to the partition of the current put. Must be called while holding the
+   * lock.
+   */
+  private Partition largest(Partition current) {
+    Partition largest = current;
+    int largestSize = current.entries.size() - 1;
+    for (Partition partition : partitions.values()) {
+      int partitionSize = partition == current ? partition.entries.size() - 1 : partition.entries.size();
+      if (partitionSize > largestSize) {
+        largest = partition;
+        largestSize = partitionSize;
+      }
+    }
+    return largest;
+  }
+
+  /**
+   * Evict an expired token of the partition if any, otherwise its least
+   * recently used one, never the given entry. Must be called while holding
+   * the lock.
+   */
+  private void evict(Partition partition, Entry keep) {
+    long now = System.currentTimeMillis();
+    Map.Entry<String, Entry> victim = null;
+    for (Map.Entry<String, Entry> candidate : partition.entries.entrySet()) {
+      Entry entry = candidate.getValue();
+      if (entry == keep) {
+        continue;
+      }
+      if (entry.expires < now) {
+        victim = candidate;
+        break;
+      }
+      if (victim == null || entry.lastAccess - victim.getValue().lastAccess < 0) {
+        victim = candidate;
+      }
+    }
+    if (victim == null) {
+      return;
+    }
+    if (partition.entries.remove(victim.getKey(), victim.getValue())) {
+      size--;
+      partition.evictions.increment();
+      EdgeMetrics.recordTokenCacheEviction(partition.tenant);
+      logger.debug("Evicted token of tenant={} username={}", partition.tenant, victim.getKey());
+    }
+  }
+
+  private static final class Partition {
+    final String tenant;
+    final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+
+    Partition(String tenant) {
+      this.tenant = tenant;
+    }
+  }
+
+  private static final class Entry {
+    final String token;
+    final long expires;
+    // nanoTime, approximate as concurrent lookups race to write it
+    volatile long lastAccess;
+
+    Entry(String token, long expires, long lastAccess) {
+      this.token = token;
+      this.expires = expires;
+      this.lastAccess = lastAccess;
+    }
+  }
+
+  /**
+   * Immutable snapshot of the partition of a tenant.
+   */
+  public static final class PartitionStats {
+    public final int size;
+    public final long hits;
+    public final long misses;
+    public final long evictions;
+
+    public PartitionStats(int size, long hits, long misses, long evictions) {
+      this.size = size;
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+    }
+
+    /**
+     * @return hits / (hits + misses), 0 if there were no lookups
+     */
+    public double hitRate() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+  }
+}
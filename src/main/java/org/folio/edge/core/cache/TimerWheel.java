@@ -0,0 +1,142 @@
+package org.folio.edge.core.cache;
+
+import java.util.function.Consumer;
+
+import org.folio.edge.core.cache.Cache.Node;
+
+/**
+ * A hierarchical timing wheel bucketing cache entries by their expiration
+ * time.
+ *
+ * <p>Each level is a ring of buckets, every bucket being a circular doubly
+ * linked list headed by a sentinel node. The bucket span of a level is a
+ * power of two, so locating a bucket is a shift and a mask. Advancing the
+ * wheel visits only the buckets whose time has passed; entries found there
+ * that have not expired yet are cascaded into a lower level.
+ *
+ * <p>Not thread safe, the owning {@link Cache} calls it while holding its lock.
+ *
+ * @param <T>
+ *          The class/type of value being cached
+ */
+final class TimerWheel<T> {
+
+  static final int[] BUCKETS = { 64, 64, 32, 4, 1 };
+  static final long[] SPANS = {
+    ceilingPowerOfTwo(1000L), // 1.02s
+    ceilingPowerOfTwo(60 * 1000L), // 1.09m
+    ceilingPowerOfTwo(60 * 60 * 1000L), // 1.17h
+    ceilingPowerOfTwo(24 * 60 * 60 * 1000L), // 1.55d
+    BUCKETS[3] * ceilingPowerOfTwo(24 * 60 * 60 * 1000L), // 6.21d
+  };
+  static final int[] SHIFT = new int[BUCKETS.length];
+  static {
+    for (int i = 0; i < SHIFT.length; i++) {
+      SHIFT[i] = Long.numberOfTrailingZeros(SPANS[i]);
+    }
+  }
+
+  private final Node<T>[][] wheel;
+  private long time;
+
+  @SuppressWarnings("unchecked")
+  TimerWheel(long now) {
+    time = now;
+    wheel = new Node[BUCKETS.length][];
+    for (int i = 0; i < wheel.length; i++) {
+      wheel[i] = new Node[BUCKETS[i]];
+      for (int j = 0; j < wheel[i].length; j++) {
+        Node<T> sentinel = new Node<>(null, null);
+        sentinel.wheelPrev = sentinel;
+        sentinel.wheelNext = sentinel;
+        wheel[i][j] = sentinel;
+      }
+    }
+  }
+
+  /**
+   * @return the time, in ms since epoch, the wheel was last advanced to
+   */
+  long time() {
+    return time;
+  }
+
+  void schedule(Node<T> node) {
+    Node<T> sentinel = findBucket(node.cached.expires);
+    node.wheelNext = sentinel;
+    node.wheelPrev = sentinel.wheelPrev;
+    sentinel.wheelPrev.wheelNext = node;
+    sentinel.wheelPrev = node;
+  }
+
+  void deschedule(Node<T> node) {
+    if (node.wheelNext != null) {
+      node.wheelPrev.wheelNext = node.wheelNext;
+      node.wheelNext.wheelPrev = node.wheelPrev;
+      node.wheelPrev = null;
+      node.wheelNext = null;
+    }
+  }
+
+  /**
+   * Advance the wheel to the given time, handing every entry that expired
+   * before it to the consumer. Expired entries are descheduled before they're
+   * handed over.
+   */
+  void advance(long now, Consumer<Node<T>> expired) {
+    long previous = time;
+    time = now;
+    for (int i = 0; i < SHIFT.length; i++) {
+      long previousTicks = previous >>> SHIFT[i];
+      long currentTicks = now >>> SHIFT[i];
+      long delta = currentTicks - previousTicks;
+      if (delta <= 0L) {
+        break;
+      }
+      expire(i, previousTicks, delta, expired);
+    }
+  }
+
+  private void expire(int level, long previousTicks, long delta, Consumer<Node<T>> expired) {
+    Node<T>[] buckets = wheel[level];
+    int mask = buckets.length - 1;
+    int steps = (int) Math.min(1 + delta, buckets.length);
+    int start = (int) (previousTicks & mask);
+    int end = start + steps;
+    for (int i = start; i < end; i++) {
+      Node<T> sentinel = buckets[i & mask];
+      Node<T> node = sentinel.wheelNext;
+      sentinel.wheelPrev = sentinel;
+      sentinel.wheelNext = sentinel;
+
+      while (node != sentinel) {
+        Node<T> next = node.wheelNext;
+        node.wheelPrev = null;
+        node.wheelNext = null;
+        if (node.cached.expires < time) {
+          expired.accept(node);
+        } else {
+          schedule(node);
+        }
+        node = next;
+      }
+    }
+  }
+
+  private Node<T> findBucket(long expires) {
+    long duration = expires - time;
+    int last = wheel.length - 1;
+    for (int i = 0; i < last; i++) {
+      if (duration < SPANS[i + 1]) {
+        long ticks = expires >>> SHIFT[i];
+        int index = (int) (ticks & (wheel[i].length - 1));
+        return wheel[i][index];
+      }
+    }
+    return wheel[last][0];
+  }
+
+  private static long ceilingPowerOfTwo(long x) {
+    return 1L << -Long.numberOfLeadingZeros(x - 1);
+  }
+}
@@ -7,12 +7,46 @@ public class TokenCacheFactory {
   private TokenCacheFactory() { }
 
   static TenantUserCache instance;
+  static TokenRefresher refresher;
 
   public static void initialize(int capacity) {
-    instance = new TenantUserCache(capacity);
+    initialize(capacity, 0);
+  }
+
+  /**
+   * Create the token cache, partitioned by tenant.
+   *
+   * @param capacity
+   *          max number of tokens of all tenants
+   * @param tenantCapacity
+   *          max number of tokens of a single tenant, 0 for no quota other
+   *          than capacity
+   * @see PartitionedTenantUserCache
+   */
+  public static void initialize(int capacity, int tenantCapacity) {
+    instance = new PartitionedTenantUserCache(capacity, tenantCapacity);
   }
 
   public static TenantUserCache get() {
     return instance;
   }
+
+  /**
+   * Set the refresher keeping the tokens of {@link #get()} warm, replacing
+   * and closing the previous one. Null disables proactive refresh.
+   */
+  public static void setRefresher(TokenRefresher tokenRefresher) {
+    TokenRefresher previous = refresher;
+    refresher = tokenRefresher;
+    if (previous != null && previous != tokenRefresher) {
+      previous.close();
+    }
+  }
+
+  /**
+   * @return the token refresher, null if proactive refresh is disabled
+   */
+  public static TokenRefresher getRefresher() {
+    return refresher;
+  }
 }
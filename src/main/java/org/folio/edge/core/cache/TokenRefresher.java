@@ -0,0 +1,168 @@
+package org.folio.edge.core.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.edge.core.utils.OkapiClient;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Refreshes institutional user tokens in the background before they expire,
+ * so requests find a valid token in the {@link TokenCacheFactory} cache.
+ *
+ * <p>A token is refreshed once the given fraction of its lifetime has
+ * elapsed, less a random jitter so that tokens obtained at the same time
+ * don't refresh in lockstep. The lifetime is taken from the JWT's
+ * <code>exp</code> claim, or from the default TTL if the token has none.
+ * Tokens that haven't been requested since their last refresh are dropped
+ * instead of being refreshed again.
+ */
+public class TokenRefresher {
+
+  private static final Logger logger = LogManager.getLogger(TokenRefresher.class);
+
+  private final Vertx vertx;
+  private final double refreshFraction;
+  private final long jitterMs;
+  private final long defaultTtlMs;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  public TokenRefresher(Vertx vertx, double refreshFraction, long jitterMs, long defaultTtlMs) {
+    if (refreshFraction <= 0 || refreshFraction >= 1) {
+      throw new IllegalArgumentException("Refresh fraction must be between 0 and 1: " + refreshFraction);
+    }
+    this.vertx = vertx;
+    this.refreshFraction = refreshFraction;
+    this.jitterMs = jitterMs;
+    this.defaultTtlMs = defaultTtlMs;
+  }
+
+  /**
+   * Record the use of a token, scheduling its refresh if it isn't tracked yet.
+   */
+  public void track(OkapiClient client, String clientId, String tenant, String username,
+      Supplier<Future<String>> passwordSupplier, String token) {
+    String key = clientId + "\t" + tenant + "\t" + username;
+    long now = System.currentTimeMillis();
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      entry.lastUsed = now;
+      return;
+    }
+
+    // the client is refreshed on the context it is used on, it isn't thread-safe
+    Entry created = new Entry(key, client, vertx.getOrCreateContext(), tenant, username, passwordSupplier);
+    created.lastUsed = now;
+    if (entries.putIfAbsent(key, created) == null) {
+      schedule(created, token, now);
+    }
+  }
+
+  /**
+   * @return the number of tokens being refreshed
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Stop refreshing all tokens.
+   */
+  public void close() {
+    entries.values().forEach(entry -> vertx.cancelTimer(entry.timerId));
+    entries.clear();
+  }
+
+  private void schedule(Entry entry, String token, long now) {
+    long expires = expires(token, now, defaultTtlMs);
+    long delay = (long) ((expires - now) * refreshFraction);
+    if (jitterMs > 0) {
+      delay -= ThreadLocalRandom.current().nextLong(jitterMs);
+    }
+    if (delay <= 0) {
+      logger.debug("Token for {} expires too soon to be refreshed", entry.key);
+      entries.remove(entry.key, entry);
+      return;
+    }
+    entry.scheduled = now;
+    entry.timerId = vertx.setTimer(delay, id -> entry.context.runOnContext(v -> refresh(entry)));
+  }
+
+  private void refresh(Entry entry) {
+    if (entry.lastUsed < entry.scheduled) {
+      logger.debug("Token for {} unused since last refresh, no longer refreshing", entry.key);
+      entries.remove(entry.key, entry);
+      return;
+    }
+
+    entry.client.loginWithoutCache(entry.username, entry.passwordSupplier)
+      .onSuccess(token -> {
+        long now = System.currentTimeMillis();
+        TokenCacheFactory.get().put(entry.tenant, entry.username, token,
+            expires(token, now, defaultTtlMs));
+        entry.client.setToken(token);
+        logger.info("Refreshed token for tenant={} username={}", entry.tenant, entry.username);
+        if (entries.get(entry.key) == entry) {
+          schedule(entry, token, now);
+        }
+      })
+      .onFailure(t -> {
+        logger.warn("Failed to refresh token for tenant={} username={}: {}",
+            entry.tenant, entry.username, t.getMessage());
+        entries.remove(entry.key, entry);
+      });
+  }
+
+  /**
+   * @return when the token expires, in ms since epoch, taken from the
+   *         <code>exp</code> claim if the token is a JWT, otherwise now plus
+   *         the default TTL.
+   */
+  static long expires(String token, long now, long defaultTtlMs) {
+    try {
+      String[] parts = token.split("\\.");
+      if (parts.length == 3) {
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        Long exp = new JsonObject(payload).getLong("exp");
+        if (exp != null) {
+          return exp * 1000;
+        }
+      }
+    } catch (Exception e) {
+      logger.debug("Token isn't a JWT with exp claim: {}", e.getMessage());
+    }
+    return now + defaultTtlMs;
+  }
+
+  private static final class Entry {
+    final String key;
+    final OkapiClient client;
+    final Context context;
+    final String tenant;
+    final String username;
+    final Supplier<Future<String>> passwordSupplier;
+    volatile long lastUsed;
+    volatile long scheduled;
+    volatile long timerId;
+
+    Entry(String key, OkapiClient client, Context context, String tenant, String username,
+        Supplier<Future<String>> passwordSupplier) {
+      this.key = key;
+      this.client = client;
+      this.context = context;
+      this.tenant = tenant;
+      this.username = username;
+      this.passwordSupplier = passwordSupplier;
+    }
+  }
+}
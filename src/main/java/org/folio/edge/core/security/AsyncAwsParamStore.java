@@ -0,0 +1,245 @@
+package org.folio.edge.core.security;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssm.SsmAsyncClient;
+import software.amazon.awssdk.services.ssm.SsmAsyncClientBuilder;
+import software.amazon.awssdk.services.ssm.model.GetParametersRequest;
+import software.amazon.awssdk.services.ssm.model.GetParametersResponse;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.SsmException;
+
+/**
+ * Non-blocking variant of the {@link AwsParamStore}.
+ *
+ * <p>Lookups arriving within a short window are coalesced into GetParameters
+ * calls of up to {@value #MAX_BATCH_SIZE} names, sent with the Netty based
+ * {@link SsmAsyncClient}, which reduces both the number of SSM API calls,
+ * which SSM throttles aggressively, and the number of blocked threads. Only
+ * the async client is created, no blocking {@code SsmClient}.
+ *
+ * <p>Names come from API keys, so a single invalid name mustn't fail the
+ * lookups it's batched with: names breaking SSM's naming rules are rejected
+ * before they're batched, and if SSM rejects a batch anyway its names are
+ * looked up one by one.
+ */
+public class AsyncAwsParamStore extends AbstractAwsParamStore {
+
+  private static final Logger logger = LogManager.getLogger(AsyncAwsParamStore.class);
+
+  public static final String TYPE = "AsyncAwsSsm";
+
+  public static final String PROP_BATCH_WINDOW_MS = "batchWindowMs";
+  public static final String PROP_MAX_CONCURRENCY = "maxConcurrency";
+  public static final String PROP_ENDPOINT_OVERRIDE = "endpointOverride";
+  public static final String PROP_TIMEOUT_MS = "timeoutMs";
+
+  public static final String DEFAULT_BATCH_WINDOW_MS = "10";
+  public static final String DEFAULT_MAX_CONCURRENCY = "50";
+  public static final String DEFAULT_TIMEOUT_MS = "5000";
+
+  /**
+   * Max number of names GetParameters accepts per call.
+   */
+  public static final int MAX_BATCH_SIZE = 10;
+
+  /**
+   * Max length of a parameter name, not counting the ARN prefix.
+   */
+  public static final int MAX_NAME_LENGTH = 1011;
+
+  // letters, digits, _ . - and, in fully qualified names only, /
+  private static final Pattern VALID_NAME = Pattern.compile("(/[\\w.-]+)+|[\\w.-]+");
+
+  private final long batchWindowMs;
+  private final long timeoutMs;
+
+  // lookups waiting for the next batch, guarded by this
+  private Map<String, List<CompletableFuture<String>>> pending = new LinkedHashMap<>();
+  private boolean flushScheduled;
+
+  protected SsmAsyncClient asyncSsm;
+
+  public AsyncAwsParamStore(Properties properties) {
+    super(properties);
+
+    Properties props = properties == null ? new Properties() : properties;
+    batchWindowMs = Long.parseLong(props.getProperty(PROP_BATCH_WINDOW_MS, DEFAULT_BATCH_WINDOW_MS));
+    timeoutMs = Long.parseLong(props.getProperty(PROP_TIMEOUT_MS, DEFAULT_TIMEOUT_MS));
+
+    SsmAsyncClientBuilder builder = SsmAsyncClient.builder()
+      .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+        .maxConcurrency(Integer.parseInt(props.getProperty(PROP_MAX_CONCURRENCY, DEFAULT_MAX_CONCURRENCY))))
+      .overrideConfiguration(config -> config.apiCallTimeout(Duration.ofMillis(timeoutMs)));
+
+    if (getRegion() != null) {
+      builder.region(Region.of(getRegion()));
+    }
+    if (credentialsProvider != null) {
+      builder.credentialsProvider(credentialsProvider);
+    }
+    String endpointOverride = props.getProperty(PROP_ENDPOINT_OVERRIDE);
+    if (endpointOverride != null) {
+      logger.info("Using endpoint {}", endpointOverride);
+      builder.endpointOverride(URI.create(endpointOverride));
+    }
+
+    asyncSsm = builder.build();
+  }
+
+  /**
+   * Fetch a value from the store, blocking the calling thread until the batch
+   * it's part of completes, at most the batch window plus the timeout.
+   */
+  @Override
+  public String get(String clientId, String tenant, String username) throws NotFoundException {
+    try {
+      return lookup(String.format("%s_%s_%s", clientId, tenant, username))
+        .get(batchWindowMs + timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof NotFoundException notFound) {
+        throw notFound;
+      }
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new NotFoundException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new NotFoundException(e);
+    } catch (TimeoutException e) {
+      throw new NotFoundException(e);
+    }
+  }
+
+  /**
+   * Fetch a value from the store without blocking, no worker thread is used.
+   */
+  @Override
+  public Future<String> get(Vertx vertx, String clientId, String tenant, String username) {
+    return Future.fromCompletionStage(lookup(String.format("%s_%s_%s", clientId, tenant, username)),
+        vertx.getOrCreateContext());
+  }
+
+  CompletableFuture<String> lookup(String key) {
+    CompletableFuture<String> future = new CompletableFuture<>();
+    if (!isValidName(key)) {
+      future.completeExceptionally(new NotFoundException("Invalid parameter name: " + key));
+      return future;
+    }
+    Map<String, List<CompletableFuture<String>>> batch = null;
+    synchronized (this) {
+      pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+      if (pending.size() >= MAX_BATCH_SIZE) {
+        batch = drain();
+      } else if (!flushScheduled) {
+        flushScheduled = true;
+        CompletableFuture.delayedExecutor(batchWindowMs, TimeUnit.MILLISECONDS).execute(this::flush);
+      }
+    }
+    if (batch != null) {
+      send(batch);
+    }
+    return future;
+  }
+
+  private void flush() {
+    Map<String, List<CompletableFuture<String>>> batch;
+    synchronized (this) {
+      flushScheduled = false;
+      batch = drain();
+    }
+    if (!batch.isEmpty()) {
+      send(batch);
+    }
+  }
+
+  /**
+   * Must be called while holding the lock on this.
+   */
+  private Map<String, List<CompletableFuture<String>>> drain() {
+    Map<String, List<CompletableFuture<String>>> batch = pending;
+    pending = new LinkedHashMap<>();
+    return batch;
+  }
+
+  private void send(Map<String, List<CompletableFuture<String>>> batch) {
+    logger.debug("Getting {} parameters", batch.size());
+    GetParametersRequest req = GetParametersRequest.builder()
+      .names(batch.keySet())
+      .withDecryption(true)
+      .build();
+
+    asyncSsm.getParameters(req).whenComplete((resp, t) -> {
+      if (t == null) {
+        complete(batch, resp);
+        return;
+      }
+      Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+      if (isValidationError(cause)) {
+        if (batch.size() > 1) {
+          logger.warn("GetParameters rejected a batch of {} names, getting them one by one: {}",
+              batch.size(), cause.getMessage());
+          batch.forEach((key, futures) -> send(Map.of(key, futures)));
+          return;
+        }
+        cause = new NotFoundException(cause);
+      }
+      Throwable failure = cause;
+      batch.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(failure)));
+    });
+  }
+
+  /**
+   * Close the SSM client, releasing its event loop threads. The store can't
+   * be used afterwards.
+   */
+  public void close() {
+    asyncSsm.close();
+  }
+
+  static boolean isValidName(String name) {
+    return name.length() <= MAX_NAME_LENGTH && VALID_NAME.matcher(name).matches();
+  }
+
+  private static boolean isValidationError(Throwable t) {
+    return t instanceof SsmException e && e.statusCode() == 400
+        && e.awsErrorDetails() != null && "ValidationException".equals(e.awsErrorDetails().errorCode());
+  }
+
+  private static void complete(Map<String, List<CompletableFuture<String>>> batch, GetParametersResponse resp) {
+    Map<String, String> values = new HashMap<>();
+    for (Parameter parameter : resp.parameters()) {
+      values.put(parameter.name(), parameter.value());
+    }
+    batch.forEach((key, futures) -> {
+      String value = values.get(key);
+      if (value != null) {
+        futures.forEach(f -> f.complete(value));
+      } else {
+        NotFoundException e = new NotFoundException("Parameter " + key + " not found.");
+        futures.forEach(f -> f.completeExceptionally(e));
+      }
+    });
+  }
+}
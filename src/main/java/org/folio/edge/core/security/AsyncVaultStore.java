@@ -0,0 +1,231 @@
+package org.folio.edge.core.security;
+
+import static org.folio.edge.core.security.VaultStore.DEFAULT_VAULT_ADDRESS;
+import static org.folio.edge.core.security.VaultStore.DEFAULT_VAULT_USER_SSL;
+import static org.folio.edge.core.security.VaultStore.PROP_KEYSTORE_JKS_FILE;
+import static org.folio.edge.core.security.VaultStore.PROP_KEYSTORE_PASS;
+import static org.folio.edge.core.security.VaultStore.PROP_SSL_PEM_FILE;
+import static org.folio.edge.core.security.VaultStore.PROP_TRUSTSTORE_JKS_FILE;
+import static org.folio.edge.core.security.VaultStore.PROP_VAULT_ADDRESS;
+import static org.folio.edge.core.security.VaultStore.PROP_VAULT_TOKEN;
+import static org.folio.edge.core.security.VaultStore.PROP_VAULT_USE_SSL;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.KeyStoreOptions;
+import io.vertx.core.net.PemKeyCertOptions;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+
+/**
+ * Retrieves credentials from Vault's KV secrets engine HTTP API using a
+ * pooled Vert.x {@link WebClient}, without tying up a worker thread.
+ *
+ * <p>Uses the same key layout and connection properties as
+ * {@link VaultStore}. The web client is created on first use, bound to the
+ * Vert.x instance of that call. Blocking lookups outside of Vert.x use a
+ * Vert.x instance of their own, released by {@link #close()}.
+ */
+public class AsyncVaultStore extends SecureStore {
+
+  public static final String TYPE = "AsyncVault";
+
+  public static final String PROP_KV_VERSION = "kvVersion";
+  public static final String PROP_TIMEOUT_MS = "timeoutMs";
+  public static final String PROP_MAX_POOL_SIZE = "maxPoolSize";
+  public static final String PROP_MAX_WAIT_QUEUE_SIZE = "maxWaitQueueSize";
+  public static final String PROP_USE_HTTP2 = "useHttp2";
+
+  public static final String DEFAULT_KV_VERSION = "2";
+  public static final String DEFAULT_TIMEOUT_MS = "5000";
+  public static final String DEFAULT_MAX_POOL_SIZE = "10";
+  public static final String DEFAULT_MAX_WAIT_QUEUE_SIZE = "100";
+  public static final String DEFAULT_USE_HTTP2 = "false";
+
+  public static final String X_VAULT_TOKEN = "X-Vault-Token";
+
+  private static final Logger logger = LogManager.getLogger(AsyncVaultStore.class);
+
+  private final String token;
+  private final String address;
+  private final int kvVersion;
+  private final long timeoutMs;
+  private final WebClientOptions webClientOptions;
+  private final PoolOptions poolOptions;
+  private HttpClient httpClient;
+  private WebClient client;
+  private Vertx ownVertx;
+
+  public AsyncVaultStore(Properties properties) {
+    super(properties);
+    logger.info("Initializing...");
+
+    token = properties.getProperty(PROP_VAULT_TOKEN);
+    address = properties.getProperty(PROP_VAULT_ADDRESS, DEFAULT_VAULT_ADDRESS).replaceAll("/+$", "");
+    kvVersion = Integer.parseInt(properties.getProperty(PROP_KV_VERSION, DEFAULT_KV_VERSION));
+    timeoutMs = Long.parseLong(properties.getProperty(PROP_TIMEOUT_MS, DEFAULT_TIMEOUT_MS));
+    final boolean useSSL = address.toLowerCase().startsWith("https://")
+        || Boolean.parseBoolean(properties.getProperty(PROP_VAULT_USE_SSL, DEFAULT_VAULT_USER_SSL));
+    final boolean useHttp2 = Boolean.parseBoolean(properties.getProperty(PROP_USE_HTTP2, DEFAULT_USE_HTTP2));
+
+    webClientOptions = new WebClientOptions()
+      .setKeepAlive(true)
+      .setConnectTimeout((int) timeoutMs)
+      .setSsl(useSSL);
+
+    if (useHttp2) {
+      webClientOptions.setProtocolVersion(HttpVersion.HTTP_2);
+      if (useSSL) {
+        webClientOptions.setUseAlpn(true);
+      } else {
+        // upgrade from HTTP/1.1, falling back to it if the server declines
+        webClientOptions.setHttp2ClearTextUpgrade(true);
+      }
+    }
+
+    if (useSSL) {
+      // the client key, as for VaultStore, with its certificate in the same file
+      final String pemPath = properties.getProperty(PROP_SSL_PEM_FILE);
+      if (pemPath != null) {
+        webClientOptions.setKeyCertOptions(new PemKeyCertOptions().addKeyPath(pemPath).addCertPath(pemPath));
+      }
+
+      final String truststorePath = properties.getProperty(PROP_TRUSTSTORE_JKS_FILE);
+      if (truststorePath != null) {
+        webClientOptions.setTrustOptions(new KeyStoreOptions().setType("JKS").setPath(truststorePath));
+      }
+
+      // takes precedence over the PEM client key
+      final String keystorePath = properties.getProperty(PROP_KEYSTORE_JKS_FILE);
+      if (keystorePath != null) {
+        webClientOptions.setKeyCertOptions(new KeyStoreOptions()
+          .setType("JKS")
+          .setPath(keystorePath)
+          .setPassword(properties.getProperty(PROP_KEYSTORE_PASS)));
+      }
+    }
+
+    // bound the number of connections and of requests waiting for one
+    final int maxPoolSize = Integer.parseInt(properties.getProperty(PROP_MAX_POOL_SIZE, DEFAULT_MAX_POOL_SIZE));
+    poolOptions = new PoolOptions()
+      .setHttp1MaxSize(maxPoolSize)
+      .setHttp2MaxSize(maxPoolSize)
+      .setMaxWaitQueueSize(Integer.parseInt(
+          properties.getProperty(PROP_MAX_WAIT_QUEUE_SIZE, DEFAULT_MAX_WAIT_QUEUE_SIZE)));
+  }
+
+  /**
+   * Fetch a value from the store, blocking the calling thread.
+   *
+   * <p>Never call this from an event loop thread, use
+   * {@link #get(Vertx, String, String, String)} instead.
+   */
+  @Override
+  public String get(String clientId, String tenant, String username) throws NotFoundException {
+    try {
+      return get(getVertx(), clientId, tenant, username)
+        .toCompletionStage()
+        .toCompletableFuture()
+        .get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof NotFoundException notFound) {
+        throw notFound;
+      }
+      throw new NotFoundException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new NotFoundException(e);
+    } catch (TimeoutException e) {
+      throw new NotFoundException(e);
+    }
+  }
+
+  /**
+   * Fetch a value from the store without blocking, no worker thread is used.
+   */
+  @Override
+  public Future<String> get(Vertx vertx, String clientId, String tenant, String username) {
+    final String key = String.format("%s/%s", clientId, tenant);
+    final String path = kvVersion == 1
+        ? String.format("/v1/%s/%s", clientId, tenant)
+        : String.format("/v1/%s/data/%s", clientId, tenant);
+
+    return getClient(vertx).getAbs(address + path)
+      .putHeader(X_VAULT_TOKEN, token)
+      .timeout(timeoutMs)
+      .send()
+      .compose(response -> getAttribute(response, key, username));
+  }
+
+  private Future<String> getAttribute(HttpResponse<Buffer> response, String key, String username) {
+    if (response.statusCode() == 404) {
+      return Future.failedFuture(new NotFoundException("Nothing associated w/ key: " + key));
+    }
+    if (response.statusCode() != 200) {
+      return Future.failedFuture(new IllegalStateException(
+          String.format("Vault responded with status %d for %s", response.statusCode(), key)));
+    }
+
+    JsonObject data = response.bodyAsJsonObject().getJsonObject("data");
+    if (data != null && kvVersion != 1) {
+      data = data.getJsonObject("data");
+    }
+    String ret = data == null ? null : data.getString(username);
+    if (ret == null) {
+      return Future.failedFuture(new NotFoundException(
+          String.format("Attribute: %s not set for %s", username, key)));
+    }
+    return Future.succeededFuture(ret);
+  }
+
+  private synchronized WebClient getClient(Vertx vertx) {
+    if (client == null) {
+      httpClient = vertx.createHttpClient(webClientOptions, poolOptions);
+      client = WebClient.wrap(httpClient, webClientOptions);
+    }
+    return client;
+  }
+
+  /**
+   * Close the HTTP client, and the Vert.x instance of blocking lookups made
+   * outside of Vert.x. The store can still be used afterwards, creating them
+   * again.
+   */
+  public synchronized Future<Void> close() {
+    Future<Void> closed = httpClient == null ? Future.succeededFuture() : httpClient.close();
+    httpClient = null;
+    client = null;
+    if (ownVertx != null) {
+      Vertx vertx = ownVertx;
+      ownVertx = null;
+      closed = closed.eventually(() -> vertx.close());
+    }
+    return closed;
+  }
+
+  private synchronized Vertx getVertx() {
+    Context context = Vertx.currentContext();
+    if (context != null) {
+      return context.owner();
+    }
+    if (ownVertx == null) {
+      ownVertx = Vertx.vertx();
+    }
+    return ownVertx;
+  }
+}
@@ -0,0 +1,113 @@
+package org.folio.edge.core.security;
+
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.edge.core.cache.Cache;
+import org.folio.edge.core.cache.Cache.CacheValue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Decorates another {@link SecureStore}, caching the values it returns as
+ * well as the lookups that failed with {@link NotFoundException}.
+ */
+public class CachingSecureStore extends SecureStore {
+
+  protected static final Logger logger = LogManager.getLogger(CachingSecureStore.class);
+
+  public static final String PROP_CACHE_TTL_MS = "secureStore.cacheTtlMs";
+  public static final String PROP_CACHE_NULL_VALUE_TTL_MS = "secureStore.cacheNullValueTtlMs";
+  public static final String PROP_CACHE_CAPACITY = "secureStore.cacheCapacity";
+
+  public static final String DEFAULT_CACHE_TTL_MS = "0"; // disabled
+  public static final String DEFAULT_CACHE_NULL_VALUE_TTL_MS = "30000";
+  public static final String DEFAULT_CACHE_CAPACITY = "1000";
+
+  protected final SecureStore delegate;
+  private final Cache<String> cache;
+
+  public CachingSecureStore(SecureStore delegate, Properties properties) {
+    super(properties);
+    this.delegate = delegate;
+
+    long ttl = Long.parseLong(properties.getProperty(PROP_CACHE_TTL_MS, DEFAULT_CACHE_TTL_MS));
+    long nullValueTtl = Long.parseLong(
+        properties.getProperty(PROP_CACHE_NULL_VALUE_TTL_MS, DEFAULT_CACHE_NULL_VALUE_TTL_MS));
+    int capacity = Integer.parseInt(properties.getProperty(PROP_CACHE_CAPACITY, DEFAULT_CACHE_CAPACITY));
+
+    logger.info("Caching {} values, TTL (ms): {}, null value TTL (ms): {}, capacity: {}",
+        delegate.getClass().getSimpleName(), ttl, nullValueTtl, capacity);
+
+    cache = new Cache.Builder<String>()
+      .withTTL(ttl)
+      .withNullValueTTL(nullValueTtl)
+      .withCapacity(capacity)
+      .build();
+  }
+
+  /**
+   * @return whether the properties enable caching, i.e. set a positive
+   *         {@link #PROP_CACHE_TTL_MS}
+   */
+  public static boolean isEnabled(Properties properties) {
+    return properties != null
+        && Long.parseLong(properties.getProperty(PROP_CACHE_TTL_MS, DEFAULT_CACHE_TTL_MS)) > 0;
+  }
+
+  @Override
+  public String get(String clientId, String tenant, String username) throws NotFoundException {
+    String key = getKey(clientId, tenant, username);
+    CacheValue<String> cached = cache.getCached(key);
+    if (cached != null) {
+      if (cached.value == null) {
+        throw notFound(tenant, username);
+      }
+      return cached.value;
+    }
+
+    try {
+      String value = delegate.get(clientId, tenant, username);
+      cache(key, value);
+      return value;
+    } catch (NotFoundException e) {
+      cache(key, null);
+      throw e;
+    }
+  }
+
+  @Override
+  public Future<String> get(Vertx vertx, String clientId, String tenant, String username) {
+    String key = getKey(clientId, tenant, username);
+    CacheValue<String> cached = cache.getCached(key);
+    if (cached != null) {
+      if (cached.value == null) {
+        return Future.failedFuture(notFound(tenant, username));
+      }
+      return Future.succeededFuture(cached.value);
+    }
+
+    return delegate.get(vertx, clientId, tenant, username)
+      .onSuccess(value -> cache(key, value))
+      .onFailure(t -> {
+        if (t instanceof NotFoundException) {
+          cache(key, null);
+        }
+      });
+  }
+
+  private void cache(String key, String value) {
+    cache.put(key, value);
+  }
+
+  private static NotFoundException notFound(String tenant, String username) {
+    return new NotFoundException(String.format("Nothing associated w/ tenant: %s, username: %s (cached)",
+        tenant, username));
+  }
+
+  private static String getKey(String clientId, String tenant, String username) {
+    return clientId + "\t" + tenant + "\t" + username;
+  }
+}
@@ -23,14 +23,24 @@ public class SecureStoreFactory {
     case VaultStore.TYPE:
       ret = new VaultStore(props);
       break;
+    case AsyncVaultStore.TYPE:
+      ret = new AsyncVaultStore(props);
+      break;
     case AwsParamStore.TYPE:
       ret = new AwsParamStore(props);
       break;
+    case AsyncAwsParamStore.TYPE:
+      ret = new AsyncAwsParamStore(props);
+      break;
     case EphemeralStore.TYPE:
     default:
       ret = new EphemeralStore(props);
     }
 
+    if (CachingSecureStore.isEnabled(props)) {
+      ret = new CachingSecureStore(ret, props);
+    }
+
     if (logger.isInfoEnabled()) {
       logger.info("type: {}, class: {}", type, ret.getClass().getName());
     }
@@ -0,0 +1,213 @@
+package org.folio.edge.core.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.folio.edge.core.model.ClientInfo;
+
+/**
+ * Fast path of {@link ApiKeyUtils#parseApiKey(String)} for API keys as
+ * generated by {@link ApiKeyUtils#generateApiKey(String, String, String)}.
+ *
+ * <p>The key is Base64 URL decoded into a per-thread buffer that is reused
+ * across calls, then scanned for the {@code s}, {@code t} and {@code u}
+ * string members of the JSON object, without building a JSON tree or
+ * mapping it with reflection.
+ *
+ * <p>Only ASCII keys of this exact shape are handled. Anything else, e.g.
+ * escapes, other members, duplicate members, non-string values or invalid
+ * Base64, is left to the general parser, which also reports the errors.
+ */
+final class ApiKeyParser {
+
+  private static final byte[] BASE64_URL = new byte[128];
+  private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[256]);
+
+  static {
+    Arrays.fill(BASE64_URL, (byte) -1);
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    for (int i = 0; i < alphabet.length(); i++) {
+      BASE64_URL[alphabet.charAt(i)] = (byte) i;
+    }
+  }
+
+  private ApiKeyParser() { }
+
+  /**
+   * @return the parsed key, not validated, or null if it's not handled by
+   *         the fast path
+   */
+  static ClientInfo parse(String apiKey) {
+    if (apiKey == null) {
+      return null;
+    }
+    int length = decode(apiKey);
+    if (length < 0) {
+      return null;
+    }
+    return new Scanner(BUFFER.get(), length).scan();
+  }
+
+  /**
+   * Decode the key into the buffer of the current thread.
+   *
+   * @return the number of bytes decoded, -1 if the key isn't valid
+   */
+  static int decode(String apiKey) {
+    int chars = apiKey.length();
+    if (chars % 4 == 0) {
+      // padding, at most two characters
+      for (int i = 0; i < 2 && chars > 0 && apiKey.charAt(chars - 1) == '='; i++) {
+        chars--;
+      }
+    }
+    if (chars % 4 == 1) {
+      return -1;
+    }
+    int length = chars / 4 * 3 + Math.max(0, chars % 4 - 1);
+    byte[] buffer = BUFFER.get();
+    if (buffer.length < length) {
+      buffer = new byte[length];
+      BUFFER.set(buffer);
+    }
+
+    int bits = 0;
+    int bitCount = 0;
+    int out = 0;
+    for (int i = 0; i < chars; i++) {
+      char c = apiKey.charAt(i);
+      int value = c < 128 ? BASE64_URL[c] : -1;
+      if (value < 0) {
+        return -1;
+      }
+      bits = bits << 6 | value;
+      bitCount += 6;
+      if (bitCount >= 8) {
+        bitCount -= 8;
+        buffer[out++] = (byte) (bits >> bitCount);
+      }
+    }
+    return out;
+  }
+
+  /**
+   * @return the buffer of the current thread, holding the last decoded key
+   */
+  static byte[] buffer() {
+    return BUFFER.get();
+  }
+
+  /**
+   * Scanner of a flat JSON object with string members s, t and u.
+   */
+  private static final class Scanner {
+    private final byte[] json;
+    private final int end;
+    private int pos;
+
+    Scanner(byte[] json, int end) {
+      this.json = json;
+      this.end = end;
+    }
+
+    ClientInfo scan() {
+      String salt = null;
+      String tenantId = null;
+      String username = null;
+      boolean hasSalt = false;
+      boolean hasTenant = false;
+      boolean hasUsername = false;
+
+      if (!skipWhitespaceAndExpect('{')) {
+        return null;
+      }
+      skipWhitespace();
+      if (pos < end && json[pos] == '}') {
+        pos++;
+      } else {
+        while (true) {
+          if (!skipWhitespaceAndExpect('"') || pos + 1 >= end || json[pos + 1] != '"') {
+            return null;
+          }
+          byte name = json[pos];
+          pos += 2;
+          if (!skipWhitespaceAndExpect(':') || !skipWhitespaceAndExpect('"')) {
+            return null;
+          }
+          String value = string();
+          if (value == null) {
+            return null;
+          }
+          if (name == 's' && !hasSalt) {
+            salt = value;
+            hasSalt = true;
+          } else if (name == 't' && !hasTenant) {
+            tenantId = value;
+            hasTenant = true;
+          } else if (name == 'u' && !hasUsername) {
+            username = value;
+            hasUsername = true;
+          } else {
+            return null;
+          }
+          skipWhitespace();
+          if (pos >= end) {
+            return null;
+          }
+          byte next = json[pos++];
+          if (next == '}') {
+            break;
+          } else if (next != ',') {
+            return null;
+          }
+        }
+      }
+      skipWhitespace();
+      if (pos != end) {
+        return null;
+      }
+      return new ClientInfo(salt, tenantId, username);
+    }
+
+    /**
+     * @return the string starting at pos, after its opening quote, or null if
+     *         it has escapes, control or non-ASCII characters
+     */
+    private String string() {
+      int start = pos;
+      while (pos < end) {
+        byte b = json[pos];
+        if (b == '"') {
+          String value = new String(json, start, pos - start, StandardCharsets.ISO_8859_1);
+          pos++;
+          return value;
+        }
+        // negative for non-ASCII bytes
+        if (b == '\\' || b < 0x20) {
+          return null;
+        }
+        pos++;
+      }
+      return null;
+    }
+
+    private void skipWhitespace() {
+      while (pos < end) {
+        byte b = json[pos];
+        if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+          return;
+        }
+        pos++;
+      }
+    }
+
+    private boolean skipWhitespaceAndExpect(char c) {
+      skipWhitespace();
+      if (pos < end && json[pos] == c) {
+        pos++;
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -3,7 +3,9 @@ package org.folio.edge.core.utils;
 import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
+import org.folio.edge.core.cache.Cache;
 import org.folio.edge.core.model.ClientInfo;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -17,6 +19,15 @@ public class ApiKeyUtils {
   public static final Random RANDOM = new SecureRandom();
   /** 17 characters give 100 bits of entropy */
   public static final int DEFAULT_SALT_LEN = 17;
+  /** Max number of parsed API keys cached */
+  public static final int PARSED_KEY_CACHE_CAPACITY = 1000;
+
+  // a parsed key never changes, the TTL only bounds how long unused keys stay
+  private static final Cache<ClientInfo> parsedKeys = new Cache.Builder<ClientInfo>()
+      .withTTL(TimeUnit.HOURS.toMillis(1))
+      .withNullValueTTL(0)
+      .withCapacity(PARSED_KEY_CACHE_CAPACITY)
+      .build();
 
   @Option(name = "-p",
           usage = "parse an API Key",
@@ -76,15 +87,32 @@ public class ApiKeyUtils {
     return generateApiKey(generateSalt(saltLen), tenantId, username);
   }
 
+  /**
+   * Parse an API key. Valid keys are cached, so parsing a key that is sent
+   * again and again costs a lookup.
+   *
+   * @throws MalformedApiKeyException
+   *           if the key can't be decoded, or lacks the salt, tenant or
+   *           username
+   */
   public static ClientInfo parseApiKey(String apiKey) throws MalformedApiKeyException {
-    ClientInfo ret = null;
-    try {
-      String decoded = new String(Base64.getUrlDecoder().decode(apiKey.getBytes()));
-      JsonObject json = new JsonObject(decoded);
+    if (apiKey != null) {
+      ClientInfo cached = parsedKeys.get(apiKey);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    ClientInfo ret = ApiKeyParser.parse(apiKey);
+    if (ret == null) {
+      try {
+        String decoded = new String(Base64.getUrlDecoder().decode(apiKey.getBytes()));
+        JsonObject json = new JsonObject(decoded);
 
-      ret = json.mapTo(ClientInfo.class);
-    } catch (Exception e) {
-      throw new MalformedApiKeyException("Failed to parse", e);
+        ret = json.mapTo(ClientInfo.class);
+      } catch (Exception e) {
+        throw new MalformedApiKeyException("Failed to parse", e);
+      }
     }
 
     if (ret.salt == null || ret.salt.isEmpty()) {
@@ -99,6 +127,7 @@ public class ApiKeyUtils {
       throw new MalformedApiKeyException("Null/Empty Username");
     }
 
+    parsedKeys.put(apiKey, ret);
     return ret;
   }
 
@@ -0,0 +1,159 @@
+package org.folio.edge.core.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.Future;
+
+/**
+ * Circuit breaker with a bulkhead for the requests to one upstream.
+ *
+ * <p>After failureThreshold consecutive failures the circuit opens and
+ * requests are rejected with a {@link ServiceUnavailableException} without
+ * being sent. Once resetTimeoutMs has elapsed the circuit is half-open: a
+ * single probe request is let through, closing the circuit if it succeeds
+ * and opening it again if it fails.
+ *
+ * <p>The bulkhead rejects requests the same way while maxConcurrent requests
+ * are in flight, so a slow upstream can't tie up more than its share.
+ */
+public class CircuitBreaker {
+
+  private static final Logger logger = LogManager.getLogger(CircuitBreaker.class);
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long resetTimeoutNanos;
+  private final int maxConcurrent;
+
+  // guarded by this
+  private State state = State.CLOSED;
+  private int failures;
+  private long openedAt;
+  private int inFlight;
+  private boolean probing;
+
+  /**
+   * @param failureThreshold
+   *          consecutive failures opening the circuit, 0 to disable the
+   *          circuit breaker and only use the bulkhead
+   * @param resetTimeoutMs
+   *          how long the circuit stays open before probing
+   * @param maxConcurrent
+   *          max number of requests in flight, 0 for unbounded
+   */
+  public CircuitBreaker(String name, int failureThreshold, long resetTimeoutMs, int maxConcurrent) {
+    this.name = name;
+    this.failureThreshold = failureThreshold;
+    this.resetTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(resetTimeoutMs);
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  /**
+   * Run the operation unless the circuit is open or the bulkhead full.
+   *
+   * @param isFailure
+   *          whether a result counts as a failure, e.g. a 5xx response;
+   *          failed futures always do
+   */
+  public <T> Future<T> execute(Supplier<Future<T>> operation, Predicate<T> isFailure) {
+    return execute(operation, isFailure, null);
+  }
+
+  /**
+   * Like {@link #execute(Supplier, Predicate)}, keeping the request in flight
+   * until the result is done with too, e.g. until a streamed response body
+   * has been received in full.
+   *
+   * @param done
+   *          completes once the result is done with, a failure counting as a
+   *          failure of the request; null if it is as soon as the operation
+   *          completes
+   */
+  public <T> Future<T> execute(Supplier<Future<T>> operation, Predicate<T> isFailure,
+      Function<T, Future<?>> done) {
+    final boolean probe;
+    synchronized (this) {
+      if (state == State.OPEN) {
+        long remaining = openedAt + resetTimeoutNanos - System.nanoTime();
+        if (remaining > 0) {
+          return reject("Circuit breaker is open for " + name, remaining);
+        }
+        state = State.HALF_OPEN;
+        logger.info("Circuit breaker half-open for {}", name);
+      }
+      if (state == State.HALF_OPEN && probing) {
+        return reject("Circuit breaker is half-open for " + name, resetTimeoutNanos);
+      }
+      if (maxConcurrent > 0 && inFlight >= maxConcurrent) {
+        return reject("Too many concurrent requests for " + name, 0);
+      }
+      probe = state == State.HALF_OPEN;
+      probing = probe;
+      inFlight++;
+    }
+
+    Future<T> result;
+    try {
+      result = operation.get();
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+    return result.andThen(ar -> {
+      final boolean failed = ar.failed() || isFailure.test(ar.result());
+      if (ar.failed() || done == null) {
+        release(probe, failed);
+      } else {
+        done.apply(ar.result()).onComplete(end -> release(probe, failed || end.failed()));
+      }
+    });
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  private synchronized void release(boolean probe, boolean failed) {
+    inFlight--;
+    if (probe) {
+      probing = false;
+      if (failed) {
+        open();
+      } else {
+        logger.info("Circuit breaker closed for {}", name);
+        state = State.CLOSED;
+        failures = 0;
+      }
+    } else if (state == State.CLOSED) {
+      if (!failed) {
+        failures = 0;
+      } else if (failureThreshold > 0 && ++failures >= failureThreshold) {
+        open();
+      }
+    }
+  }
+
+  private void open() {
+    logger.warn("Circuit breaker open for {}", name);
+    state = State.OPEN;
+    openedAt = System.nanoTime();
+  }
+
+  private static <T> Future<T> reject(String msg, long retryAfterNanos) {
+    long retryAfterSeconds = retryAfterNanos <= 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos));
+    return Future.failedFuture(new ServiceUnavailableException(msg, retryAfterSeconds));
+  }
+}
@@ -0,0 +1,58 @@
+package org.folio.edge.core.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link CircuitBreaker} per tenant and path prefix, so a failing
+ * backend module only trips the requests of the tenant going to it.
+ *
+ * <p>The path prefix is the first segment of the request path, e.g.
+ * <code>/inventory</code> for <code>http://okapi:9130/inventory/items?limit=10</code>.
+ */
+public class CircuitBreakerRegistry {
+
+  private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+  private final int failureThreshold;
+  private final long resetTimeoutMs;
+  private final int maxConcurrent;
+
+  /**
+   * @see CircuitBreaker#CircuitBreaker(String, int, long, int)
+   */
+  public CircuitBreakerRegistry(int failureThreshold, long resetTimeoutMs, int maxConcurrent) {
+    this.failureThreshold = failureThreshold;
+    this.resetTimeoutMs = resetTimeoutMs;
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  public CircuitBreaker get(String tenant, String url) {
+    String key = tenant + ' ' + pathPrefix(url);
+    return breakers.computeIfAbsent(key, k -> new CircuitBreaker(k, failureThreshold, resetTimeoutMs,
+        maxConcurrent));
+  }
+
+  /**
+   * @return the first segment of the path of an absolute or relative URL,
+   *         including the leading slash, or "/" if there's none
+   */
+  static String pathPrefix(String url) {
+    int start = 0;
+    int scheme = url.indexOf("://");
+    if (scheme >= 0) {
+      start = url.indexOf('/', scheme + 3);
+      if (start < 0) {
+        return "/";
+      }
+    }
+    int end = start + 1;
+    while (end < url.length()) {
+      char c = url.charAt(end);
+      if (c == '/' || c == '?' || c == '#') {
+        break;
+      }
+      end++;
+    }
+    return end <= start + 1 ? "/" : url.substring(start, end);
+  }
+}
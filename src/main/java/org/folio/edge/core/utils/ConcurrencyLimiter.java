@@ -0,0 +1,113 @@
+package org.folio.edge.core.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Adaptive limit of the number of requests in flight, adjusted with a
+ * gradient algorithm from the latency of the requests it admitted.
+ *
+ * <p>Latency samples are averaged over windows of {@link #WINDOW_SIZE}.
+ * The gradient between the long-term average latency and the latency of the
+ * last window, clamped to [0.5, 1], scales the limit down when latency
+ * rises, while a headroom of sqrt(limit) lets it grow while latency is
+ * stable. The limit only grows while at least half of it is in use.
+ *
+ * <p>Requests above the limit are rejected by {@link #tryAcquire()} instead
+ * of being queued.
+ */
+public class ConcurrencyLimiter {
+
+  private static final Logger logger = LogManager.getLogger(ConcurrencyLimiter.class);
+
+  static final int WINDOW_SIZE = 20;
+  // number of windows the long-term latency is averaged over
+  private static final int LONG_WINDOWS = 30;
+  private static final double SMOOTHING = 0.2;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private volatile int limit;
+
+  // guarded by this
+  private double estimatedLimit;
+  private double longRtt;
+  private int longRttWindows;
+  private long rttSum;
+  private int rttCount;
+
+  public ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    this.limit = (int) estimatedLimit;
+  }
+
+  /**
+   * @return true if the request may proceed, it must then be followed by
+   *         {@link #release()}
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  public void release() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Record the latency of a request, from admission to response.
+   */
+  public synchronized void onSample(long rttNanos) {
+    rttSum += rttNanos;
+    if (++rttCount < WINDOW_SIZE) {
+      return;
+    }
+    final double shortRtt = (double) rttSum / rttCount;
+    rttSum = 0;
+    rttCount = 0;
+
+    if (longRttWindows < LONG_WINDOWS) {
+      longRttWindows++;
+      longRtt += (shortRtt - longRtt) / longRttWindows;
+    } else {
+      longRtt += (shortRtt - longRtt) * 2 / (LONG_WINDOWS + 1);
+    }
+    // latency recovered well below the long-term average, let the average catch up
+    if (longRtt / shortRtt > 2) {
+      longRtt *= 0.95;
+    }
+
+    final double gradient = Math.max(0.5, Math.min(1.0, longRtt / shortRtt));
+    final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    if (newLimit > estimatedLimit && inFlight.get() < estimatedLimit / 2) {
+      return;
+    }
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+        estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    if ((int) estimatedLimit != limit) {
+      logger.debug("Concurrency limit: {} gradient: {} latency (ms): {}", (int) estimatedLimit, gradient,
+          shortRtt / 1_000_000);
+    }
+    limit = (int) estimatedLimit;
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
@@ -0,0 +1,183 @@
+package org.folio.edge.core.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+
+/**
+ * Metrics of the edge request pipeline, in a Prometheus registry shared by
+ * all verticles of the JVM.
+ *
+ * <p>Metrics are disabled until {@link #initialize()} is called; the record
+ * methods are then no-ops, so they can be called unconditionally.
+ */
+public final class EdgeMetrics {
+
+  /**
+   * Routing context key of the tenant of a request, set once the API key has
+   * been parsed.
+   */
+  public static final String TENANT = "edge.tenant";
+  public static final String UNKNOWN = "unknown";
+
+  static final String REQUESTS = "edge.requests";
+  static final String OKAPI_REQUESTS = "edge.okapi.requests";
+  static final String TOKEN_CACHE = "edge.token.cache";
+  static final String SECURE_STORE = "edge.secure.store";
+  static final String EVENT_LOOP_LAG = "edge.event.loop.lag";
+
+  private static volatile PrometheusMeterRegistry registry;
+
+  private EdgeMetrics() { }
+
+  /**
+   * Enable metrics, creating the registry on first call.
+   */
+  public static synchronized PrometheusMeterRegistry initialize() {
+    if (registry == null) {
+      registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+    return registry;
+  }
+
+  /**
+   * Disable metrics, dropping the registry.
+   */
+  public static synchronized void close() {
+    if (registry != null) {
+      registry.close();
+      registry = null;
+    }
+  }
+
+  public static boolean isEnabled() {
+    return registry != null;
+  }
+
+  /**
+   * @return the registry, null if metrics are disabled
+   */
+  public static MeterRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * @return the metrics in the Prometheus text format, empty if disabled
+   */
+  public static String scrape() {
+    PrometheusMeterRegistry r = registry;
+    return r == null ? "" : r.scrape();
+  }
+
+  /**
+   * Record a request to the edge API.
+   *
+   * @param route the path pattern of the route, not the actual path, to keep
+   *          the number of time series bounded
+   */
+  public static void recordRequest(String route, String method, String tenant, int status, long nanos) {
+    MeterRegistry r = registry;
+    if (r == null) {
+      return;
+    }
+    Timer.builder(REQUESTS)
+        .tags("route", route, "method", method, "tenant", tenant, "status", Integer.toString(status))
+        .publishPercentileHistogram()
+        .register(r)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Record a request to Okapi, tagged with the path prefix of the URL.
+   *
+   * @param status the response status, negative if the request failed
+   */
+  public static void recordOkapiRequest(String tenant, String url, int status, long nanos) {
+    MeterRegistry r = registry;
+    if (r == null) {
+      return;
+    }
+    Timer.builder(OKAPI_REQUESTS)
+        .tags("tenant", String.valueOf(tenant), "path", CircuitBreakerRegistry.pathPrefix(url),
+            "status", status < 0 ? "error" : Integer.toString(status))
+        .publishPercentileHistogram()
+        .register(r)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Record a lookup of the token cache, a miss meaning a login.
+   */
+  public static void recordTokenCache(String tenant, boolean hit) {
+    MeterRegistry r = registry;
+    if (r == null) {
+      return;
+    }
+    Counter.builder(TOKEN_CACHE)
+        .tags("tenant", String.valueOf(tenant), "result", hit ? "hit" : "miss")
+        .register(r)
+        .increment();
+  }
+
+  /**
+   * Count a token evicted from the token cache to make room for another.
+   */
+  public static void recordTokenCacheEviction(String tenant) {
+    MeterRegistry r = registry;
+    if (r == null) {
+      return;
+    }
+    Counter.builder(TOKEN_CACHE)
+        .tags("tenant", String.valueOf(tenant), "result", "eviction")
+        .register(r)
+        .increment();
+  }
+
+  /**
+   * Time a secure store lookup.
+   */
+  public static <T> Future<T> timeSecureStore(Supplier<Future<T>> lookup) {
+    MeterRegistry r = registry;
+    if (r == null) {
+      return lookup.get();
+    }
+    final long start = System.nanoTime();
+    return lookup.get().andThen(ar -> Timer.builder(SECURE_STORE)
+        .tags("outcome", ar.succeeded() ? "success" : "failure")
+        .register(r)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+  }
+
+  /**
+   * Measure the lag of the event loop of the current context: how late a
+   * periodic timer fires, exposed as a gauge in milliseconds. Does nothing if
+   * metrics are disabled.
+   *
+   * @return the timer id, -1 if metrics are disabled
+   */
+  public static long monitorEventLoopLag(Vertx vertx, long intervalMs) {
+    MeterRegistry r = registry;
+    if (r == null) {
+      return -1;
+    }
+    AtomicLong lagMs = new AtomicLong();
+    AtomicLong last = new AtomicLong(System.nanoTime());
+    Gauge.builder(EVENT_LOOP_LAG, lagMs, AtomicLong::get)
+        .baseUnit("milliseconds")
+        .register(r);
+    return vertx.setPeriodic(intervalMs, id -> {
+      long now = System.nanoTime();
+      long elapsedMs = TimeUnit.NANOSECONDS.toMillis(now - last.getAndSet(now));
+      lagMs.set(Math.max(0, elapsedMs - intervalMs));
+    });
+  }
+}
@@ -0,0 +1,66 @@
+package org.folio.edge.core.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * When to send a hedged, i.e. second identical, GET request to Okapi.
+ *
+ * <p>The hedging delay is a percentile of the latency of the endpoint, the
+ * path prefix of the request as used by {@link CircuitBreakerRegistry}. The
+ * budget is a token bucket earning budgetPercent / 100 tokens per GET request,
+ * a hedged request spends one, so hedging adds at most budgetPercent of load.
+ */
+public class HedgingPolicy {
+
+  static final long MIN_SAMPLES = 20;
+  private static final long HISTOGRAM_INTERVAL_MS = 60 * 1000L;
+  private static final double MAX_TOKENS = 10;
+
+  private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+  private final double percentile;
+  private final double tokensPerRequest;
+
+  // guarded by this
+  private double tokens;
+
+  /**
+   * @param percentile
+   *          latency percentile to wait for before hedging, e.g. 95
+   * @param budgetPercent
+   *          max extra load from hedged requests, e.g. 5
+   */
+  public HedgingPolicy(double percentile, double budgetPercent) {
+    this.percentile = percentile;
+    this.tokensPerRequest = budgetPercent / 100;
+  }
+
+  public LatencyHistogram histogram(String url) {
+    return histograms.computeIfAbsent(CircuitBreakerRegistry.pathPrefix(url),
+        k -> new LatencyHistogram(HISTOGRAM_INTERVAL_MS));
+  }
+
+  /**
+   * Earn budget for a GET request and get its hedging delay.
+   *
+   * @return the hedging delay in milliseconds, -1 if there are not enough
+   *         latency samples yet
+   */
+  public long hedgeDelayMs(String url) {
+    synchronized (this) {
+      tokens = Math.min(MAX_TOKENS, tokens + tokensPerRequest);
+    }
+    return histogram(url).percentileMs(percentile, MIN_SAMPLES);
+  }
+
+  /**
+   * @return whether there's budget left for a hedged request, spending it
+   */
+  public synchronized boolean tryAcquire() {
+    if (tokens < 1) {
+      return false;
+    }
+    tokens--;
+    return true;
+  }
+}
@@ -0,0 +1,75 @@
+package org.folio.edge.core.utils;
+
+import static org.folio.edge.core.Constants.DEFAULT_CONCURRENCY_LIMIT;
+import static org.folio.edge.core.Constants.DEFAULT_CONCURRENCY_LIMIT_INITIAL;
+import static org.folio.edge.core.Constants.DEFAULT_CONCURRENCY_LIMIT_MAX;
+import static org.folio.edge.core.Constants.DEFAULT_CONCURRENCY_LIMIT_MIN;
+import static org.folio.edge.core.Constants.DEFAULT_HTTP2;
+import static org.folio.edge.core.Constants.DEFAULT_HTTP2_HEADER_TABLE_SIZE;
+import static org.folio.edge.core.Constants.DEFAULT_HTTP2_INITIAL_WINDOW_SIZE;
+import static org.folio.edge.core.Constants.DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS;
+import static org.folio.edge.core.Constants.SYS_CONCURRENCY_LIMIT;
+import static org.folio.edge.core.Constants.SYS_CONCURRENCY_LIMIT_INITIAL;
+import static org.folio.edge.core.Constants.SYS_CONCURRENCY_LIMIT_MAX;
+import static org.folio.edge.core.Constants.SYS_CONCURRENCY_LIMIT_MIN;
+import static org.folio.edge.core.Constants.SYS_HTTP2;
+import static org.folio.edge.core.Constants.SYS_HTTP2_HEADER_TABLE_SIZE;
+import static org.folio.edge.core.Constants.SYS_HTTP2_INITIAL_WINDOW_SIZE;
+import static org.folio.edge.core.Constants.SYS_HTTP2_MAX_CONCURRENT_STREAMS;
+
+import java.util.List;
+
+import io.vertx.core.http.Http2Settings;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class HttpServerConfigurationUtil {
+  private static final Logger logger = LogManager.getLogger(HttpServerConfigurationUtil.class);
+
+  private HttpServerConfigurationUtil() {}
+
+  /**
+   * Enable HTTP/2 if configured: negotiated with ALPN when TLS is enabled,
+   * h2c upgrade or prior knowledge otherwise. HTTP/1.1 remains available.
+   */
+  public static void configureHttp2IfEnabled(JsonObject config, HttpServerOptions serverOptions) {
+    if (!config.getBoolean(SYS_HTTP2, DEFAULT_HTTP2)) {
+      return;
+    }
+
+    final long maxConcurrentStreams = config.getLong(SYS_HTTP2_MAX_CONCURRENT_STREAMS,
+        DEFAULT_HTTP2_MAX_CONCURRENT_STREAMS);
+    final int initialWindowSize = config.getInteger(SYS_HTTP2_INITIAL_WINDOW_SIZE,
+        DEFAULT_HTTP2_INITIAL_WINDOW_SIZE);
+    final long headerTableSize = config.getLong(SYS_HTTP2_HEADER_TABLE_SIZE, DEFAULT_HTTP2_HEADER_TABLE_SIZE);
+    logger.info("Enabling HTTP/2, max concurrent streams: {} initial window size: {} header table size: {}",
+        maxConcurrentStreams, initialWindowSize, headerTableSize);
+
+    serverOptions
+      .setUseAlpn(true)
+      .setAlpnVersions(List.of(HttpVersion.HTTP_2, HttpVersion.HTTP_1_1))
+      .setHttp2ClearTextEnabled(true)
+      .setInitialSettings(new Http2Settings()
+        .setMaxConcurrentStreams(maxConcurrentStreams)
+        .setInitialWindowSize(initialWindowSize)
+        .setHeaderTableSize(headerTableSize));
+  }
+
+  /**
+   * @return the adaptive concurrency limiter for the edge HTTP server, null
+   *         if disabled
+   */
+  public static ConcurrencyLimiter createConcurrencyLimiter(JsonObject config) {
+    if (!config.getBoolean(SYS_CONCURRENCY_LIMIT, DEFAULT_CONCURRENCY_LIMIT)) {
+      return null;
+    }
+    final int initialLimit = config.getInteger(SYS_CONCURRENCY_LIMIT_INITIAL, DEFAULT_CONCURRENCY_LIMIT_INITIAL);
+    final int minLimit = config.getInteger(SYS_CONCURRENCY_LIMIT_MIN, DEFAULT_CONCURRENCY_LIMIT_MIN);
+    final int maxLimit = config.getInteger(SYS_CONCURRENCY_LIMIT_MAX, DEFAULT_CONCURRENCY_LIMIT_MAX);
+    logger.info("Using adaptive concurrency limit, initial: {} min: {} max: {}", initialLimit, minLimit, maxLimit);
+    return new ConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+  }
+}
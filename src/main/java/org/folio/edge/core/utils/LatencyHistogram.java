@@ -0,0 +1,90 @@
+package org.folio.edge.core.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Rolling latency histogram with exponential buckets from 1 ms to 1 min.
+ *
+ * <p>Samples are counted in the current interval; percentiles are computed
+ * over the current and the previous interval, so they reflect the last one
+ * to two intervals.
+ */
+public class LatencyHistogram {
+
+  private static final long[] BOUNDS_MS = bounds();
+
+  private final long intervalNanos;
+  private volatile AtomicLongArray current = new AtomicLongArray(BOUNDS_MS.length + 1);
+  private volatile AtomicLongArray previous = new AtomicLongArray(BOUNDS_MS.length + 1);
+  private volatile long intervalStart = System.nanoTime();
+
+  public LatencyHistogram(long intervalMs) {
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+  }
+
+  private static long[] bounds() {
+    long[] bounds = new long[64];
+    int n = 0;
+    for (long b = 1; b <= 60_000; b = Math.max(b + 1, b * 6 / 5)) {
+      bounds[n++] = b;
+    }
+    return Arrays.copyOf(bounds, n);
+  }
+
+  public void record(long latencyNanos) {
+    rotate();
+    long ms = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+    int i = Arrays.binarySearch(BOUNDS_MS, ms);
+    current.incrementAndGet(i >= 0 ? i : -i - 1);
+  }
+
+  /**
+   * @param percentile
+   *          e.g. 95
+   * @param minSamples
+   *          number of samples needed for a meaningful result
+   * @return upper bound in milliseconds of the bucket holding the
+   *         percentile, -1 if there are less than minSamples samples
+   */
+  public long percentileMs(double percentile, long minSamples) {
+    rotate();
+    AtomicLongArray cur = current;
+    AtomicLongArray prev = previous;
+    long[] counts = new long[cur.length()];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = cur.get(i) + prev.get(i);
+      total += counts[i];
+    }
+    if (total < minSamples || total == 0) {
+      return -1;
+    }
+    long threshold = (long) Math.ceil(total * percentile / 100);
+    long cumulative = 0;
+    for (int i = 0; i < BOUNDS_MS.length; i++) {
+      cumulative += counts[i];
+      if (cumulative >= threshold) {
+        return BOUNDS_MS[i];
+      }
+    }
+    return BOUNDS_MS[BOUNDS_MS.length - 1];
+  }
+
+  private void rotate() {
+    long now = System.nanoTime();
+    if (now - intervalStart < intervalNanos) {
+      return;
+    }
+    synchronized (this) {
+      if (now - intervalStart < intervalNanos) {
+        return;
+      }
+      // drop both intervals if more than one has elapsed without samples
+      previous = now - intervalStart < 2 * intervalNanos ? current : new AtomicLongArray(BOUNDS_MS.length + 1);
+      current = new AtomicLongArray(BOUNDS_MS.length + 1);
+      intervalStart = now;
+    }
+  }
+}
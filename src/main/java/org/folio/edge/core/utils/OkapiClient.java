@@ -1,12 +1,22 @@
 package org.folio.edge.core.utils;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.RequestOptions;
 import io.vertx.core.net.TrustOptions;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
@@ -22,7 +32,15 @@ import org.folio.okapi.common.refreshtoken.client.ClientOptions;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 import static org.folio.common.utils.tls.Utils.IS_HOSTNAME_VERIFICATION_DISABLED;
 import static org.folio.edge.core.Constants.APPLICATION_JSON;
@@ -35,6 +53,8 @@ public class OkapiClient {
 
   private static final Logger logger = LogManager.getLogger(OkapiClient.class);
 
+  private static final String SHARED_HTTP_CLIENTS = OkapiClient.class.getName() + ".httpClients";
+
   public final String okapiURL;
   public final WebClient client;
   public final String tenant;
@@ -42,7 +62,15 @@ public class OkapiClient {
   public final int reqTimeout;
   public final Vertx vertx;
   Client tokenClient;
+  CircuitBreakerRegistry circuitBreakers;
+  LongConsumer latencyListener;
+  HedgingPolicy hedging;
+  RetryPolicy retryPolicy;
+  ResponseCache responseCache;
   protected final MultiMap defaultHeaders = MultiMap.caseInsensitiveMultiMap();
+  protected final HttpClientOptions httpClientOptions;
+  // created on first use, shared with copies of this client
+  private final AtomicReference<HttpClient> httpClient;
 
   public OkapiClient(OkapiClient client) {
     this.vertx = client.vertx;
@@ -50,8 +78,15 @@ public class OkapiClient {
     this.tenant = client.tenant;
     this.okapiURL = client.okapiURL;
     this.client = client.client;
+    this.httpClientOptions = client.httpClientOptions;
+    this.httpClient = client.httpClient;
     this.setToken(client.getToken());
     this.tokenClient = client.tokenClient;
+    this.circuitBreakers = client.circuitBreakers;
+    this.latencyListener = client.latencyListener;
+    this.hedging = client.hedging;
+    this.retryPolicy = client.retryPolicy;
+    this.responseCache = client.responseCache;
     initDefaultHeaders();
   }
 
@@ -70,6 +105,8 @@ public class OkapiClient {
     this.tenant = tenant;
     WebClientOptions options = initDefaultWebClientOptions(timeout);
     client = WebClientFactory.getWebClient(vertx, options);
+    httpClientOptions = options;
+    httpClient = new AtomicReference<>();
     initDefaultHeaders();
   }
 
@@ -89,6 +126,25 @@ public class OkapiClient {
       options.setVerifyHost(!IS_HOSTNAME_VERIFICATION_DISABLED);
     }
     client = WebClientFactory.getWebClient(vertx, options);
+    httpClientOptions = options;
+    httpClient = new AtomicReference<>();
+    initDefaultHeaders();
+  }
+
+  /**
+   * Create Okapi client using the given, possibly shared, clients.
+   *
+   * @param httpClient the client underlying webClient, used for streaming
+   */
+  protected OkapiClient(Vertx vertx, String okapiURL, String tenant, int timeout, WebClient webClient,
+      HttpClient httpClient) {
+    this.vertx = vertx;
+    this.reqTimeout = timeout;
+    this.okapiURL = okapiURL;
+    this.tenant = tenant;
+    this.client = webClient;
+    this.httpClientOptions = null;
+    this.httpClient = new AtomicReference<>(httpClient);
     initDefaultHeaders();
   }
 
@@ -160,6 +216,28 @@ public class OkapiClient {
     });
   }
 
+  /**
+   * Use the login client of another client of the same tenant and user, e.g.
+   * the one whose login this client waited for, so later requests of both
+   * refresh and log in again alike.
+   */
+  public void shareTokenClient(OkapiClient other) {
+    tokenClient = other.tokenClient;
+  }
+
+  /**
+   * Login bypassing the token cache, always fetching a new token from Okapi.
+   * Neither the token cache nor this client's token is updated.
+   */
+  public Future<String> loginWithoutCache(String username, Supplier<Future<String>> getPasswordSupplier) {
+    logger.info("loginWithoutCache username={}", username);
+    ClientOptions clientOptions = new ClientOptions()
+        .okapiUrl(okapiURL)
+        .webClient(client);
+    return Client.createLoginClient(clientOptions, null, tenant, username, getPasswordSupplier)
+        .getToken();
+  }
+
   public CompletableFuture<Boolean> healthy() {
     return health().toCompletionStage().toCompletableFuture();
   }
@@ -199,24 +277,213 @@ public class OkapiClient {
   }
 
   Future<HttpRequest<Buffer>> prepareTokenAndHeaders(HttpRequest<Buffer> request, MultiMap headers) {
+    request.timeout(reqTimeout);
+    return prepareTokenAndHeaders(headers).map(requestHeaders -> {
+      request.headers().setAll(requestHeaders);
+      return request;
+    });
+  }
+
+  Future<MultiMap> prepareTokenAndHeaders(MultiMap headers) {
+    MultiMap requestHeaders = MultiMap.caseInsensitiveMultiMap();
     if (headers != null) {
-      request.headers().setAll(combineHeadersWithDefaults(headers));
+      requestHeaders.setAll(combineHeadersWithDefaults(headers));
     } else {
-      request.headers().setAll(defaultHeaders);
+      requestHeaders.setAll(defaultHeaders);
     }
 
-    request.timeout(reqTimeout);
-
     if (tokenClient == null) {
-      return Future.succeededFuture(request);
+      return Future.succeededFuture(requestHeaders);
     }
     return tokenClient.getToken().map(token -> {
-      request.putHeader(X_OKAPI_TOKEN, token);
+      requestHeaders.set(X_OKAPI_TOKEN, token);
       setToken(token);
-      return request;
+      return requestHeaders;
     });
   }
 
+  /**
+   * Send a request without a body, without reading the response body.
+   *
+   * <p>The body of the returned response hasn't been read, so it can be
+   * streamed, e.g. piped into the response of the edge API with
+   * {@link HttpClientResponse#pipeTo}, without buffering it in memory. Consume
+   * it right away when the future completes, before returning to the event
+   * loop.
+   *
+   * @param headers additional HTTP headers to combine with {@link #defaultHeaders}, can be null or empty.
+   *     NEVER pass request.headers(), this is vulnerable to header injection!
+   *     NEVER use a deny list like request.headers().remove(HttpHeaders.ACCEPT),
+   *     this is vulnerable to header injection! If a header from the request is needed use a white list:
+   *     {@code new MultiMap.caseInsensitiveMultiMap().add("X-Myheader", request.headers().get("X-Myheader"))}
+   */
+  public Future<HttpClientResponse> send(HttpMethod method, String url, String tenant, MultiMap headers) {
+    return send(method, url, tenant, headers, null);
+  }
+
+  /**
+   * Like {@link #send(HttpMethod, String, String, MultiMap)}, streaming the
+   * request body with backpressure too, so neither body is held in memory.
+   *
+   * @param body the request body, null for none; see
+   *     {@link #postStream(String, String, ReadStream, MultiMap)} about pausing it
+   */
+  public Future<HttpClientResponse> send(HttpMethod method, String url, String tenant, MultiMap headers,
+      ReadStream<Buffer> body) {
+    return prepareTokenAndHeaders(headers).compose(requestHeaders -> {
+      logger.info("{} {} tenant: {}", method, url, tenant);
+      LongFunction<Future<HttpClientResponse>> attempt = timeoutMs -> execute(url,
+          () -> getHttpClient().request(new RequestOptions()
+              .setMethod(method)
+              .setAbsoluteURI(url)
+              .setHeaders(requestHeaders)
+              .setIdleTimeout(timeoutMs))
+            .compose(request -> {
+              enforceDeadline(request, url, timeoutMs);
+              return body == null ? request.send() : request.send(body);
+            }),
+          HttpClientResponse::statusCode,
+          // the body is streamed afterwards, the bulkhead bounds streams in flight
+          HttpClientResponse::end);
+      if (body != null) {
+        // a stream can't be sent again
+        return attempt.apply(reqTimeout);
+      }
+      return retry(method, url, attempt, HttpClientResponse::statusCode, response -> response.request().reset());
+    });
+  }
+
+  private Future<HttpResponse<Buffer>> retry(HttpMethod method, String url, HttpRequest<Buffer> request,
+      LongFunction<Future<HttpResponse<Buffer>>> attempt) {
+    return retry(method, url, timeoutMs -> {
+      request.timeout(timeoutMs);
+      return attempt.apply(timeoutMs);
+    }, HttpResponse::statusCode, response -> { });
+  }
+
+  /**
+   * Send an idempotent request, retrying it according to the retry policy,
+   * if any. All attempts and the delays between them share the request
+   * timeout, every attempt gets the time left as its timeout.
+   *
+   * @param attempt sends the request with the given timeout in milliseconds
+   * @param discard releases a response that is retried
+   */
+  <T> Future<T> retry(HttpMethod method, String url, LongFunction<Future<T>> attempt,
+      ToIntFunction<T> statusCode, Consumer<T> discard) {
+    if (retryPolicy == null || !RetryPolicy.isIdempotent(method)) {
+      return attempt.apply(reqTimeout);
+    }
+    final String tenantId = defaultHeaders.get(X_OKAPI_TENANT);
+    retryPolicy.onRequest(tenantId);
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reqTimeout);
+    return retry(url, tenantId, attempt, statusCode, discard, deadline, 0, 0);
+  }
+
+  private <T> Future<T> retry(String url, String tenantId, LongFunction<Future<T>> attempt,
+      ToIntFunction<T> statusCode, Consumer<T> discard, long deadline, int retries, long delayMs) {
+    final long timeoutMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+    return attempt.apply(timeoutMs).transform(ar -> {
+      final boolean retryable = ar.failed()
+          ? RetryPolicy.isRetryable(ar.cause())
+          : RetryPolicy.isRetryable(statusCode.applyAsInt(ar.result()));
+      if (!retryable || retries >= retryPolicy.getMaxRetries()) {
+        return Future.<T>future(p -> p.handle(ar));
+      }
+      final long nextDelayMs = retryPolicy.nextDelayMs(delayMs);
+      final long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+      if (nextDelayMs >= remainingMs || !retryPolicy.tryAcquire(tenantId)) {
+        return Future.<T>future(p -> p.handle(ar));
+      }
+      if (ar.succeeded()) {
+        discard.accept(ar.result());
+      }
+      logger.info("Retrying {} in {} ms, retry {} of {}: {}", url, nextDelayMs, retries + 1,
+          retryPolicy.getMaxRetries(), ar.failed() ? ar.cause().getMessage() : statusCode.applyAsInt(ar.result()));
+      Promise<T> promise = Promise.promise();
+      vertx.setTimer(nextDelayMs, id ->
+          retry(url, tenantId, attempt, statusCode, discard, deadline, retries + 1, nextDelayMs).onComplete(promise));
+      return promise.future();
+    });
+  }
+
+  private Future<HttpResponse<Buffer>> execute(String url, Supplier<Future<HttpResponse<Buffer>>> request) {
+    return execute(url, request, HttpResponse::statusCode);
+  }
+
+  /**
+   * Send a request through the circuit breaker and bulkhead of its tenant
+   * and path prefix, if enabled. Failures and 5xx responses count as failures.
+   * The latency of requests sent is reported to the latency listener, if any.
+   */
+  <T> Future<T> execute(String url, Supplier<Future<T>> request, ToIntFunction<T> statusCode) {
+    return execute(url, request, statusCode, null);
+  }
+
+  /**
+   * Like {@link #execute(String, Supplier, ToIntFunction)}, keeping the
+   * bulkhead permit until the response is done with too.
+   *
+   * @param done completes once the response is done with, e.g. its body
+   *     has been received in full; null if it is as soon as it's received
+   */
+  <T> Future<T> execute(String url, Supplier<Future<T>> request, ToIntFunction<T> statusCode,
+      Function<T, Future<?>> done) {
+    final LongConsumer listener = latencyListener;
+    final boolean metrics = EdgeMetrics.isEnabled();
+    final Supplier<Future<T>> send = listener == null && !metrics ? request : () -> {
+      final long start = System.nanoTime();
+      return request.get().andThen(ar -> {
+        final long nanos = System.nanoTime() - start;
+        if (listener != null) {
+          listener.accept(nanos);
+        }
+        if (metrics) {
+          EdgeMetrics.recordOkapiRequest(defaultHeaders.get(X_OKAPI_TENANT), url,
+              ar.succeeded() ? statusCode.applyAsInt(ar.result()) : -1, nanos);
+        }
+      });
+    };
+    if (circuitBreakers == null) {
+      return send.get();
+    }
+    return circuitBreakers.get(defaultHeaders.get(X_OKAPI_TENANT), url)
+        .execute(send, response -> statusCode.applyAsInt(response) >= 500, done);
+  }
+
+  /**
+   * Reset the request unless its response has been received in full within
+   * the timeout. The idle timeout alone lets a trickling response take any
+   * time.
+   */
+  private void enforceDeadline(HttpClientRequest request, String url, long timeoutMs) {
+    final long timerId = vertx.setTimer(timeoutMs, id -> request.reset(0,
+        new TimeoutException("The timeout of " + timeoutMs + " ms has been exceeded for " + url)));
+    request.response()
+      .compose(HttpClientResponse::end)
+      .onComplete(ar -> vertx.cancelTimer(timerId));
+  }
+
+  /**
+   * The client used for requests whose response is streamed: the one of the
+   * factory, or for clients created without a factory one per Vert.x instance
+   * and options, created on first use and closed along with Vert.x.
+   */
+  protected HttpClient getHttpClient() {
+    HttpClient ret = httpClient.get();
+    if (ret == null) {
+      ret = vertx.sharedData().<String, SharedHttpClient>getLocalMap(SHARED_HTTP_CLIENTS)
+          .computeIfAbsent(httpClientOptions.toJson().encode(),
+              key -> new SharedHttpClient(vertx.createHttpClient(httpClientOptions)))
+          .client();
+      httpClient.compareAndSet(null, ret);
+    }
+    return ret;
+  }
+
+  private record SharedHttpClient(HttpClient client) implements Shareable {
+  }
+
   /**
    * Send POST request.
    *
@@ -248,13 +515,50 @@ public class OkapiClient {
       logger.info("POST {} tenant: {}", url, tenant);
       if (payload != null) {
         logger.trace("Payload {}", payload);
-        return request.sendBuffer(Buffer.buffer(payload));
+        return execute(url, () -> request.sendBuffer(Buffer.buffer(payload)));
       } else {
-        return request.send();
+        return execute(url, request::send);
       }
     });
   }
 
+  /**
+   * Send POST request with a body already held in a buffer, without copying it.
+   *
+   * @param headers additional HTTP headers to combine with {@link #defaultHeaders}, can be null or empty.
+   *     NEVER pass request.headers(), this is vulnerable to header injection!
+   *     NEVER use a deny list like request.headers().remove(HttpHeaders.ACCEPT),
+   *     this is vulnerable to header injection! If a header from the request is needed use a white list:
+   *     {@code new MultiMap.caseInsensitiveMultiMap().add("X-Myheader", request.headers().get("X-Myheader"))}
+   */
+  public Future<HttpResponse<Buffer>> postBuffer(String url, String tenant, Buffer payload, MultiMap headers) {
+    return prepareTokenAndHeaders(client.postAbs(url), headers).compose(request -> {
+      logger.info("POST {} tenant: {}", url, tenant);
+      return execute(url, () -> payload == null ? request.send() : request.sendBuffer(payload));
+    });
+  }
+
+  /**
+   * Send POST request streaming the body, e.g. from the incoming
+   * {@link io.vertx.core.http.HttpServerRequest}, with backpressure.
+   *
+   * <p>The stream must not have been read yet; pause an incoming request
+   * before doing anything asynchronous, like fetching a token, before calling this.
+   *
+   * @param headers additional HTTP headers to combine with {@link #defaultHeaders}, can be null or empty.
+   *     NEVER pass request.headers(), this is vulnerable to header injection!
+   *     NEVER use a deny list like request.headers().remove(HttpHeaders.ACCEPT),
+   *     this is vulnerable to header injection! If a header from the request is needed use a white list:
+   *     {@code new MultiMap.caseInsensitiveMultiMap().add("X-Myheader", request.headers().get("X-Myheader"))}
+   */
+  public Future<HttpResponse<Buffer>> postStream(String url, String tenant, ReadStream<Buffer> payload,
+      MultiMap headers) {
+    return prepareTokenAndHeaders(client.postAbs(url), headers).compose(request -> {
+      logger.info("POST {} tenant: {}", url, tenant);
+      return execute(url, () -> request.sendStream(payload));
+    });
+  }
+
   public void delete(String url, String tenant, Handler<HttpResponse<Buffer>> responseHandler,
       Handler<Throwable> exceptionHandler) {
     delete(url, tenant, null, responseHandler, exceptionHandler);
@@ -289,7 +593,7 @@ public class OkapiClient {
   public Future<HttpResponse<Buffer>> delete(String url, String tenant, MultiMap headers) {
     return prepareTokenAndHeaders(client.deleteAbs(url), headers).compose(request -> {
       logger.info("DELETE {} tenant: {}", url, tenant);
-      return request.send();
+      return retry(HttpMethod.DELETE, url, request, timeoutMs -> execute(url, request::send));
     });
   }
 
@@ -326,7 +630,45 @@ public class OkapiClient {
   public Future<HttpResponse<Buffer>> put(String url, String tenant, MultiMap headers) {
     return prepareTokenAndHeaders(client.putAbs(url), headers).compose(request -> {
       logger.info("PUT {} tenant: {}", url, tenant);
-      return request.send();
+      return retry(HttpMethod.PUT, url, request, timeoutMs -> execute(url, request::send));
+    });
+  }
+
+  /**
+   * Send PUT request with a body already held in a buffer, without copying it.
+   *
+   * @param headers additional HTTP headers to combine with {@link #defaultHeaders}, can be null or empty.
+   *     NEVER pass request.headers(), this is vulnerable to header injection!
+   *     NEVER use a deny list like request.headers().remove(HttpHeaders.ACCEPT),
+   *     this is vulnerable to header injection! If a header from the request is needed use a white list:
+   *     {@code new MultiMap.caseInsensitiveMultiMap().add("X-Myheader", request.headers().get("X-Myheader"))}
+   */
+  public Future<HttpResponse<Buffer>> putBuffer(String url, String tenant, Buffer payload, MultiMap headers) {
+    return prepareTokenAndHeaders(client.putAbs(url), headers).compose(request -> {
+      logger.info("PUT {} tenant: {}", url, tenant);
+      return retry(HttpMethod.PUT, url, request,
+          timeoutMs -> execute(url, () -> payload == null ? request.send() : request.sendBuffer(payload)));
+    });
+  }
+
+  /**
+   * Send PUT request streaming the body, e.g. from the incoming
+   * {@link io.vertx.core.http.HttpServerRequest}, with backpressure.
+   *
+   * <p>The stream must not have been read yet; pause an incoming request
+   * before doing anything asynchronous, like fetching a token, before calling this.
+   *
+   * @param headers additional HTTP headers to combine with {@link #defaultHeaders}, can be null or empty.
+   *     NEVER pass request.headers(), this is vulnerable to header injection!
+   *     NEVER use a deny list like request.headers().remove(HttpHeaders.ACCEPT),
+   *     this is vulnerable to header injection! If a header from the request is needed use a white list:
+   *     {@code new MultiMap.caseInsensitiveMultiMap().add("X-Myheader", request.headers().get("X-Myheader"))}
+   */
+  public Future<HttpResponse<Buffer>> putStream(String url, String tenant, ReadStream<Buffer> payload,
+      MultiMap headers) {
+    return prepareTokenAndHeaders(client.putAbs(url), headers).compose(request -> {
+      logger.info("PUT {} tenant: {}", url, tenant);
+      return execute(url, () -> request.sendStream(payload));
     });
   }
 
@@ -363,8 +705,88 @@ public class OkapiClient {
   public Future<HttpResponse<Buffer>> get(String url, String tenant, MultiMap headers) {
     return prepareTokenAndHeaders(client.getAbs(url), headers).compose(request -> {
       logger.info("GET {} tenant: {}", url, tenant);
-      return request.send();
+      Supplier<Future<HttpResponse<Buffer>>> send = () -> retry(HttpMethod.GET, url, request,
+          timeoutMs -> hedging == null ? execute(url, request::send) : hedge(url, request));
+      return responseCache == null ? send.get() : cached(url, request, send);
+    });
+  }
+
+  /**
+   * Serve a GET request from the response cache if fresh, otherwise send it,
+   * conditionally if a stale response is cached, and cache the response.
+   * Requests that are already conditional bypass the cache.
+   */
+  private Future<HttpResponse<Buffer>> cached(String url, HttpRequest<Buffer> request,
+      Supplier<Future<HttpResponse<Buffer>>> send) {
+    MultiMap requestHeaders = request.headers();
+    if (requestHeaders.contains(HttpHeaders.IF_NONE_MATCH)
+        || requestHeaders.contains(HttpHeaders.IF_MODIFIED_SINCE)) {
+      return send.get();
+    }
+    final String key = ResponseCache.key(defaultHeaders.get(X_OKAPI_TENANT),
+        requestHeaders.get(X_OKAPI_TOKEN), url, requestHeaders.get(HttpHeaders.ACCEPT));
+    final ResponseCache.Entry entry = responseCache.get(key);
+    if (entry != null) {
+      if (entry.isFresh()) {
+        logger.debug("Response cache hit: {}", url);
+        return Future.succeededFuture(entry.toResponse());
+      }
+      entry.addValidators(requestHeaders);
+    }
+    return send.get().map(response -> {
+      if (entry != null && response.statusCode() == 304) {
+        // the caller didn't send a conditional request, so never return the 304 itself
+        if (responseCache.revalidated(key, entry, response)) {
+          logger.debug("Response cache revalidated: {}", url);
+        }
+        return entry.toResponse();
+      }
+      responseCache.put(key, response);
+      return response;
+    });
+  }
+
+  /**
+   * Send a GET request, and a second identical one if there's no response
+   * within the hedging delay and hedging budget is left. The first response
+   * wins; the other one is discarded, as a web client request can't be
+   * cancelled once sent.
+   */
+  private Future<HttpResponse<Buffer>> hedge(String url, HttpRequest<Buffer> request) {
+    final LatencyHistogram histogram = hedging.histogram(url);
+    final long delayMs = hedging.hedgeDelayMs(url);
+    if (delayMs < 0) {
+      return attempt(url, request, histogram);
+    }
+
+    Promise<HttpResponse<Buffer>> winner = Promise.promise();
+    AtomicInteger pending = new AtomicInteger(1);
+    Handler<AsyncResult<HttpResponse<Buffer>>> complete = ar -> {
+      if (ar.succeeded()) {
+        winner.tryComplete(ar.result());
+      } else if (pending.decrementAndGet() == 0) {
+        winner.tryFail(ar.cause());
+      }
+    };
+    attempt(url, request, histogram).onComplete(complete);
+    long timerId = vertx.setTimer(delayMs, id -> {
+      if (!winner.future().isComplete() && hedging.tryAcquire()) {
+        logger.debug("Hedging GET {} after {} ms", url, delayMs);
+        pending.incrementAndGet();
+        attempt(url, request, histogram).onComplete(complete);
+      }
     });
+    return winner.future().andThen(ar -> vertx.cancelTimer(timerId));
+  }
+
+  private Future<HttpResponse<Buffer>> attempt(String url, HttpRequest<Buffer> request, LatencyHistogram histogram) {
+    final long start = System.nanoTime();
+    return execute(url, request::send)
+        .andThen(ar -> {
+          if (ar.succeeded()) {
+            histogram.record(System.nanoTime() - start);
+          }
+        });
   }
 
   protected MultiMap combineHeadersWithDefaults(MultiMap headers) {
@@ -1,11 +1,30 @@
 package org.folio.edge.core.utils;
 
+import static org.folio.common.utils.tls.Utils.IS_HOSTNAME_VERIFICATION_DISABLED;
+
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import org.folio.edge.core.Constants;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.net.TrustOptions;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
 
+/**
+ * Creates and caches one {@link OkapiClient} per tenant. All clients of a
+ * factory share a single connection pool to Okapi, the tenant is only sent
+ * in headers.
+ *
+ * <p>The clients aren't thread-safe, so a factory must only be used on one
+ * context, e.g. by one verticle instance. Instances share the connection pool
+ * and policies of a factory through {@link #OkapiClientFactory(OkapiClientFactory)}.
+ */
 public class OkapiClientFactory {
 
   private final Map<String, OkapiClient> cache = new ConcurrentHashMap<>();
@@ -15,24 +34,165 @@ public class OkapiClientFactory {
   public final int reqTimeoutMs;
   private boolean sslMode;
   private TrustOptions trustOptions;
+  private final WebClientOptions clientOptions;
+  private final PoolOptions poolOptions;
+  private HttpClient httpClient;
+  private WebClient webClient;
+  private CircuitBreakerRegistry circuitBreakers;
+  private LongConsumer latencyListener;
+  private HedgingPolicy hedging;
+  private RetryPolicy retryPolicy;
+  private ResponseCache responseCache;
 
+  /**
+   * Create a factory whose clients share one connection pool, sized by the
+   * okapi_client_* system properties. Clients used to have a pool each, so
+   * raise okapi_client_max_pool_size for many busy tenants.
+   */
   public OkapiClientFactory(Vertx vertx, String okapiURL, int reqTimeoutMs) {
+    this(vertx, okapiURL, reqTimeoutMs, false, null, new WebClientOptions(),
+        WebClientConfigurationUtil.createPoolOptions(Constants.DEFAULT_DEPLOYMENT_OPTIONS));
+  }
+
+  /**
+   * Like {@link #OkapiClientFactory(Vertx, String, int)}, using SSL/TLS.
+   */
+  public OkapiClientFactory(Vertx vertx, String okapiURL, int reqTimeoutMs, TrustOptions trustOptions) {
+    this(vertx, okapiURL, reqTimeoutMs, true, trustOptions, new WebClientOptions(),
+        WebClientConfigurationUtil.createPoolOptions(Constants.DEFAULT_DEPLOYMENT_OPTIONS));
+  }
+
+  /**
+   * @param sslMode
+   *          whether to use SSL/TLS, trustOptions can be null
+   * @param clientOptions
+   *          connection settings shared by all clients, e.g. keep-alive and
+   *          pipelining; timeouts, decompression and SSL/TLS are set by the
+   *          factory
+   * @param poolOptions
+   *          pool settings shared by all clients
+   */
+  public OkapiClientFactory(Vertx vertx, String okapiURL, int reqTimeoutMs, boolean sslMode,
+      TrustOptions trustOptions, WebClientOptions clientOptions, PoolOptions poolOptions) {
     this.vertx = vertx;
     this.okapiURL = okapiURL;
     this.reqTimeoutMs = reqTimeoutMs;
+    this.sslMode = sslMode;
+    this.trustOptions = trustOptions;
+    this.clientOptions = new WebClientOptions(clientOptions);
+    this.poolOptions = poolOptions;
   }
 
-  public OkapiClientFactory(Vertx vertx, String okapiURL, int reqTimeoutMs, TrustOptions trustOptions) {
-    this(vertx, okapiURL, reqTimeoutMs);
-    this.sslMode = true;
-    this.trustOptions = trustOptions;
+  /**
+   * Create a factory with its own per-tenant clients, sharing the connection
+   * pool, circuit breakers, hedging and retry policies, response cache and
+   * latency listener of the given factory.
+   */
+  public OkapiClientFactory(OkapiClientFactory shared) {
+    this(shared.vertx, shared.okapiURL, shared.reqTimeoutMs, shared.sslMode, shared.trustOptions,
+        shared.clientOptions, shared.poolOptions);
+    this.httpClient = shared.getHttpClient();
+    this.webClient = shared.getWebClient();
+    this.circuitBreakers = shared.circuitBreakers;
+    this.latencyListener = shared.latencyListener;
+    this.hedging = shared.hedging;
+    this.retryPolicy = shared.retryPolicy;
+    this.responseCache = shared.responseCache;
   }
 
   public OkapiClient getOkapiClient(String tenant) {
-    if (sslMode) {
-      return cache.computeIfAbsent(tenant, t -> new OkapiClient(vertx, okapiURL, t, reqTimeoutMs, trustOptions));
-    } else {
-      return cache.computeIfAbsent(tenant, t -> new OkapiClient(vertx, okapiURL, t, reqTimeoutMs));
+    return cache.computeIfAbsent(tenant, t -> {
+      OkapiClient client = new OkapiClient(vertx, okapiURL, t, reqTimeoutMs, getWebClient(), getHttpClient());
+      client.circuitBreakers = circuitBreakers;
+      client.latencyListener = latencyListener;
+      client.hedging = hedging;
+      client.retryPolicy = retryPolicy;
+      client.responseCache = responseCache;
+      return client;
+    });
+  }
+
+  /**
+   * Guard the requests of the clients created from now on with circuit
+   * breakers and bulkheads per tenant and path prefix, null to disable.
+   */
+  public OkapiClientFactory setCircuitBreakers(CircuitBreakerRegistry circuitBreakers) {
+    this.circuitBreakers = circuitBreakers;
+    return this;
+  }
+
+  public CircuitBreakerRegistry getCircuitBreakers() {
+    return circuitBreakers;
+  }
+
+  /**
+   * Hedge the GET requests of the clients created from now on, null to
+   * disable.
+   */
+  public OkapiClientFactory setHedgingPolicy(HedgingPolicy hedging) {
+    this.hedging = hedging;
+    return this;
+  }
+
+  /**
+   * Retry the idempotent requests of the clients created from now on, null
+   * to disable.
+   */
+  public OkapiClientFactory setRetryPolicy(RetryPolicy retryPolicy) {
+    this.retryPolicy = retryPolicy;
+    return this;
+  }
+
+  /**
+   * Cache the responses to the GET requests of the clients created from now
+   * on, null to disable. The cache is shared by all these clients.
+   */
+  public OkapiClientFactory setResponseCache(ResponseCache responseCache) {
+    this.responseCache = responseCache;
+    return this;
+  }
+
+  /**
+   * Report the latency in nanoseconds of every request the clients created
+   * from now on send to Okapi, null for none.
+   */
+  public OkapiClientFactory setLatencyListener(LongConsumer latencyListener) {
+    this.latencyListener = latencyListener;
+    return this;
+  }
+
+  /**
+   * The web client shared by all clients of this factory, created on first use.
+   */
+  public synchronized WebClient getWebClient() {
+    createClients();
+    return webClient;
+  }
+
+  /**
+   * The HTTP client underlying {@link #getWebClient()}, used for streaming.
+   */
+  public synchronized HttpClient getHttpClient() {
+    createClients();
+    return httpClient;
+  }
+
+  private void createClients() {
+    if (webClient == null) {
+      WebClientOptions options = new WebClientOptions(clientOptions)
+        .setDecompressionSupported(true)
+        .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
+        .setIdleTimeout(reqTimeoutMs)
+        .setConnectTimeout(reqTimeoutMs);
+      if (sslMode) {
+        options.setSsl(true);
+        if (trustOptions != null) {
+          options.setTrustOptions(trustOptions);
+          options.setVerifyHost(!IS_HOSTNAME_VERIFICATION_DISABLED);
+        }
+      }
+      httpClient = vertx.createHttpClient(options, poolOptions);
+      webClient = WebClient.wrap(httpClient, options);
     }
   }
 }
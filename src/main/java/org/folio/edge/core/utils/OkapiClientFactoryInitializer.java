@@ -8,9 +8,11 @@ import static org.folio.edge.core.Constants.FOLIO_CLIENT_TLS_TRUSTSTOREPATH;
 import static org.folio.edge.core.Constants.FOLIO_CLIENT_TLS_TRUSTSTORETYPE;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.KeyStoreOptions;
 import io.vertx.core.net.TrustOptions;
+import io.vertx.ext.web.client.WebClientOptions;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -22,9 +24,19 @@ public class OkapiClientFactoryInitializer {
   }
 
   public static OkapiClientFactory createInstance(Vertx vertx, JsonObject config) {
+    return createFactory(vertx, config)
+      .setCircuitBreakers(WebClientConfigurationUtil.createCircuitBreakers(config))
+      .setHedgingPolicy(WebClientConfigurationUtil.createHedgingPolicy(config))
+      .setRetryPolicy(WebClientConfigurationUtil.createRetryPolicy(config))
+      .setResponseCache(WebClientConfigurationUtil.createResponseCache(config));
+  }
+
+  private static OkapiClientFactory createFactory(Vertx vertx, JsonObject config) {
     String okapiUrl = config.getString(SYS_OKAPI_URL);
     Integer requestTimeout = config.getInteger(SYS_REQUEST_TIMEOUT_MS);
     boolean isSslEnabled = config.getBoolean(FOLIO_CLIENT_TLS_ENABLED);
+    WebClientOptions clientOptions = WebClientConfigurationUtil.createWebClientOptions(config);
+    PoolOptions poolOptions = WebClientConfigurationUtil.createPoolOptions(config);
     if (isSslEnabled) {
       logger.info("Creating OkapiClientFactory with Enhance HTTP Endpoint Security and TLS mode enabled");
       String truststoreType = config.getString(FOLIO_CLIENT_TLS_TRUSTSTORETYPE);
@@ -39,12 +51,13 @@ public class OkapiClientFactoryInitializer {
           .setType(truststoreType)
           .setPath(truststorePath)
           .setPassword(truststorePassword);
-        return new OkapiClientFactory(vertx, okapiUrl, requestTimeout, trustOptions);
+        return new OkapiClientFactory(vertx, okapiUrl, requestTimeout, true, trustOptions, clientOptions,
+            poolOptions);
       } else {
-        return new OkapiClientFactory(vertx, okapiUrl, requestTimeout, null);
+        return new OkapiClientFactory(vertx, okapiUrl, requestTimeout, true, null, clientOptions, poolOptions);
       }
     } else {
-      return new OkapiClientFactory(vertx, okapiUrl,  requestTimeout);
+      return new OkapiClientFactory(vertx, okapiUrl, requestTimeout, false, null, clientOptions, poolOptions);
     }
   }
 }
@@ -0,0 +1,350 @@
+package org.folio.edge.core.utils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonArray;
+import io.vertx.ext.web.client.HttpResponse;
+
+/**
+ * A shared HTTP cache for the responses to GET requests to Okapi, bounded by
+ * the total size of the cached bodies and evicting the least recently used
+ * entries.
+ *
+ * <p>Only 200 responses are stored, following their Cache-Control header:
+ * responses with no-store or private are never stored, max-age and s-maxage
+ * set how long a response is fresh, and responses with no-cache or without
+ * max-age are only stored if they have an ETag or a Last-Modified header, to
+ * be revalidated with a conditional request every time.
+ *
+ * <p>Entries are keyed by tenant, token, URL and Accept header, so a cached
+ * response is only served to requests made with the same permissions.
+ * Responses varying on other request headers, or setting cookies, are never
+ * stored, as replaying them could serve them to the wrong request.
+ */
+public class ResponseCache {
+
+  private static final Logger logger = LogManager.getLogger(ResponseCache.class);
+
+  // approximate size of an entry without its body
+  static final int ENTRY_OVERHEAD = 512;
+  static final long NOT_CACHEABLE = -1;
+
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  // access order, least recently used entry first, guarded by this
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+
+  /**
+   * @param maxBytes
+   *          max total size of the cached entries; a single entry can take up
+   *          to an eighth of it
+   */
+  public ResponseCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+    this.maxEntryBytes = maxBytes / 8;
+  }
+
+  /**
+   * @param token
+   *          the token the request is sent with, so responses aren't shared
+   *          between users with different permissions
+   */
+  public static String key(String tenant, String token, String url, String accept) {
+    return tenant + " " + token + " " + url + " " + (accept == null ? "" : accept);
+  }
+
+  /**
+   * @return the cached entry, fresh or stale, or null if there's none
+   */
+  public synchronized Entry get(String key) {
+    return entries.get(key);
+  }
+
+  /**
+   * Store the response if it's cacheable, replacing any previous entry.
+   *
+   * @return whether the response has been stored
+   */
+  public boolean put(String key, HttpResponse<Buffer> response) {
+    if (response.statusCode() != 200) {
+      return false;
+    }
+    if (response.headers().contains(HttpHeaders.SET_COOKIE) || !variesOnAcceptOnly(response.headers())) {
+      remove(key);
+      return false;
+    }
+    long freshnessMs = freshnessMs(response.headers());
+    String etag = response.headers().get(HttpHeaders.ETAG);
+    String lastModified = response.headers().get(HttpHeaders.LAST_MODIFIED);
+    if (freshnessMs == NOT_CACHEABLE || freshnessMs == 0 && etag == null && lastModified == null) {
+      remove(key);
+      return false;
+    }
+    Buffer body = response.body() == null ? Buffer.buffer() : response.body().copy();
+    long size = ENTRY_OVERHEAD + key.length() + body.length();
+    if (size > maxEntryBytes) {
+      remove(key);
+      return false;
+    }
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(response.headers());
+    Entry entry = new Entry(response.statusMessage(), headers, body, etag, lastModified, size,
+        expiresAt(freshnessMs));
+    synchronized (this) {
+      Entry previous = entries.put(key, entry);
+      if (previous != null) {
+        bytes -= previous.size;
+      }
+      bytes += size;
+      Iterator<Entry> lru = entries.values().iterator();
+      while (bytes > maxBytes && lru.hasNext()) {
+        Entry evicted = lru.next();
+        lru.remove();
+        bytes -= evicted.size;
+      }
+    }
+    // not the key, which holds the token
+    logger.debug("Cached response fresh for {} ms", freshnessMs);
+    return true;
+  }
+
+  /**
+   * Refresh the entry after a 304 Not Modified response to a conditional
+   * request.
+   *
+   * @return whether the entry can still be used
+   */
+  public boolean revalidated(String key, Entry entry, HttpResponse<Buffer> notModified) {
+    long freshnessMs = freshnessMs(notModified.headers());
+    if (freshnessMs == NOT_CACHEABLE) {
+      remove(key);
+      return false;
+    }
+    entry.expiresAt = expiresAt(freshnessMs);
+    return true;
+  }
+
+  public synchronized void remove(String key) {
+    Entry removed = entries.remove(key);
+    if (removed != null) {
+      bytes -= removed.size;
+    }
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the total size of the cached entries
+   */
+  public synchronized long bytes() {
+    return bytes;
+  }
+
+  private static long expiresAt(long freshnessMs) {
+    return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(freshnessMs);
+  }
+
+  /**
+   * @return how long a response with these headers is fresh, 0 if it must
+   *         be revalidated, {@link #NOT_CACHEABLE} if it must not be stored
+   */
+  static long freshnessMs(MultiMap headers) {
+    String cacheControl = headers.get(HttpHeaders.CACHE_CONTROL);
+    if (cacheControl == null) {
+      return 0;
+    }
+    long maxAge = -1;
+    long sharedMaxAge = -1;
+    boolean noCache = false;
+    for (String directive : cacheControl.split(",")) {
+      directive = directive.trim().toLowerCase();
+      if (directive.equals("no-store") || directive.equals("private")) {
+        return NOT_CACHEABLE;
+      } else if (directive.startsWith("no-cache")) {
+        noCache = true;
+      } else if (directive.startsWith("max-age=")) {
+        maxAge = parseSeconds(directive.substring("max-age=".length()));
+      } else if (directive.startsWith("s-maxage=")) {
+        sharedMaxAge = parseSeconds(directive.substring("s-maxage=".length()));
+      }
+    }
+    long seconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+    if (noCache || seconds <= 0) {
+      return 0;
+    }
+    long age = parseSeconds(headers.get(HttpHeaders.AGE));
+    return TimeUnit.SECONDS.toMillis(Math.max(0, seconds - Math.max(0, age)));
+  }
+
+  /**
+   * @return whether the response doesn't vary on any request header other
+   *         than Accept, which is part of the key
+   */
+  static boolean variesOnAcceptOnly(MultiMap headers) {
+    for (String vary : headers.getAll(HttpHeaders.VARY)) {
+      for (String field : vary.split(",")) {
+        field = field.trim();
+        if (!field.isEmpty() && !field.equalsIgnoreCase(HttpHeaders.ACCEPT.toString())) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static long parseSeconds(String value) {
+    if (value == null) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(value.replace("\"", "").trim());
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * A cached response.
+   */
+  public static final class Entry {
+    private final String statusMessage;
+    private final MultiMap headers;
+    private final Buffer body;
+    private final String etag;
+    private final String lastModified;
+    private final long size;
+    private volatile long expiresAt;
+
+    Entry(String statusMessage, MultiMap headers, Buffer body, String etag, String lastModified, long size,
+        long expiresAt) {
+      this.statusMessage = statusMessage;
+      this.headers = headers;
+      this.body = body;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.size = size;
+      this.expiresAt = expiresAt;
+    }
+
+    public boolean isFresh() {
+      return expiresAt - System.nanoTime() > 0;
+    }
+
+    /**
+     * Add If-None-Match and If-Modified-Since headers to revalidate this
+     * entry.
+     */
+    public void addValidators(MultiMap requestHeaders) {
+      if (etag != null) {
+        requestHeaders.set(HttpHeaders.IF_NONE_MATCH, etag);
+      }
+      if (lastModified != null) {
+        requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+      }
+    }
+
+    /**
+     * @return a new response with a copy of the cached headers and body
+     */
+    public HttpResponse<Buffer> toResponse() {
+      return new CachedResponse(200, statusMessage, MultiMap.caseInsensitiveMultiMap().addAll(headers),
+          body.copy());
+    }
+  }
+
+  /**
+   * A response served from the cache, without trailers, cookies or
+   * redirects.
+   */
+  static final class CachedResponse implements HttpResponse<Buffer> {
+    private final int statusCode;
+    private final String statusMessage;
+    private final MultiMap headers;
+    private final Buffer body;
+
+    CachedResponse(int statusCode, String statusMessage, MultiMap headers, Buffer body) {
+      this.statusCode = statusCode;
+      this.statusMessage = statusMessage;
+      this.headers = headers;
+      this.body = body;
+    }
+
+    @Override
+    public HttpVersion version() {
+      return HttpVersion.HTTP_1_1;
+    }
+
+    @Override
+    public int statusCode() {
+      return statusCode;
+    }
+
+    @Override
+    public String statusMessage() {
+      return statusMessage;
+    }
+
+    @Override
+    public MultiMap headers() {
+      return headers;
+    }
+
+    @Override
+    public String getHeader(String headerName) {
+      return headers.get(headerName);
+    }
+
+    @Override
+    public String getHeader(CharSequence headerName) {
+      return headers.get(headerName);
+    }
+
+    @Override
+    public MultiMap trailers() {
+      return MultiMap.caseInsensitiveMultiMap();
+    }
+
+    @Override
+    public String getTrailer(String trailerName) {
+      return null;
+    }
+
+    @Override
+    public List<String> cookies() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public Buffer body() {
+      return body;
+    }
+
+    @Override
+    public Buffer bodyAsBuffer() {
+      return body;
+    }
+
+    @Override
+    public List<String> followedRedirects() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public JsonArray bodyAsJsonArray() {
+      return body == null ? null : body.toJsonArray();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package org.folio.edge.core.utils;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.vertx.core.http.HttpClosedException;
+import io.vertx.core.http.HttpMethod;
+
+/**
+ * When and how often to retry a request to Okapi.
+ *
+ * <p>Only idempotent requests are retried, after connection failures and
+ * 502, 503 and 504 responses. Retries are delayed with exponential backoff
+ * with decorrelated jitter, and limited by a retry budget per tenant: a
+ * token bucket earning budgetPercent / 100 tokens per request, a retry
+ * spends one, so retries can't add more than budgetPercent of load during
+ * an outage.
+ */
+public class RetryPolicy {
+
+  // also the initial budget, so tenants with little traffic can retry too
+  static final double MAX_TOKENS = 10;
+
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+  private final int maxRetries;
+  private final long baseDelayMs;
+  private final long maxDelayMs;
+  private final double tokensPerRequest;
+
+  public RetryPolicy(int maxRetries, long baseDelayMs, long maxDelayMs, double budgetPercent) {
+    this.maxRetries = maxRetries;
+    this.baseDelayMs = baseDelayMs;
+    this.maxDelayMs = maxDelayMs;
+    this.tokensPerRequest = budgetPercent / 100;
+  }
+
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  public static boolean isIdempotent(HttpMethod method) {
+    return HttpMethod.GET.equals(method)
+        || HttpMethod.HEAD.equals(method)
+        || HttpMethod.OPTIONS.equals(method)
+        || HttpMethod.PUT.equals(method)
+        || HttpMethod.DELETE.equals(method);
+  }
+
+  public static boolean isRetryable(int statusCode) {
+    return statusCode == 502 || statusCode == 503 || statusCode == 504;
+  }
+
+  /**
+   * @return whether the failure is at connection level, e.g. connection
+   *         refused or reset; timeouts are not retried
+   */
+  public static boolean isRetryable(Throwable t) {
+    for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+      if (cause instanceof IOException || cause instanceof HttpClosedException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Decorrelated jitter: a random delay between the base delay and three
+   * times the previous delay, capped at the max delay.
+   *
+   * @param previousDelayMs
+   *          0 for the first retry
+   */
+  public long nextDelayMs(long previousDelayMs) {
+    long upper = Math.min(maxDelayMs, Math.max(baseDelayMs, previousDelayMs * 3));
+    if (upper <= baseDelayMs) {
+      return upper;
+    }
+    return ThreadLocalRandom.current().nextLong(baseDelayMs, upper + 1);
+  }
+
+  /**
+   * Earn retry budget for a request of the tenant.
+   */
+  public void onRequest(String tenant) {
+    bucket(tenant).add(tokensPerRequest);
+  }
+
+  /**
+   * @return whether the tenant has retry budget left, spending it
+   */
+  public boolean tryAcquire(String tenant) {
+    return bucket(tenant).tryAcquire();
+  }
+
+  private Bucket bucket(String tenant) {
+    return buckets.computeIfAbsent(String.valueOf(tenant), t -> new Bucket());
+  }
+
+  private static final class Bucket {
+    private double tokens = MAX_TOKENS;
+
+    synchronized void add(double n) {
+      tokens = Math.min(MAX_TOKENS, tokens + n);
+    }
+
+    synchronized boolean tryAcquire() {
+      if (tokens < 1) {
+        return false;
+      }
+      tokens--;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package org.folio.edge.core.utils;
+
+/**
+ * A request to Okapi was rejected without being sent because the upstream
+ * is considered unavailable, e.g. by an open circuit breaker. Mapped to
+ * 503 Service Unavailable by {@link org.folio.edge.core.Handler}.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+  private static final long serialVersionUID = -3184476357180347218L;
+
+  private final long retryAfterSeconds;
+
+  /**
+   * @param retryAfterSeconds
+   *          when to retry, sent as Retry-After; 0 to omit it
+   */
+  public ServiceUnavailableException(String msg, long retryAfterSeconds) {
+    super(msg);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -0,0 +1,55 @@
+package org.folio.edge.core.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+/**
+ * Coalesces concurrent asynchronous calls for the same key.
+ *
+ * <p>The first caller for a key runs the supplied operation, every caller
+ * arriving while it is in flight gets the same {@link Future}. Once the
+ * operation completes the key is released, so the next call runs it again.
+ *
+ * @param <K>
+ *          The class/type of the key
+ * @param <V>
+ *          The class/type of the result
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, Future<V>> inFlight = new ConcurrentHashMap<>();
+
+  public Future<V> execute(K key, Supplier<Future<V>> operation) {
+    Promise<V> promise = Promise.promise();
+    Future<V> future = promise.future();
+    Future<V> existing = inFlight.putIfAbsent(key, future);
+    if (existing != null) {
+      return existing;
+    }
+
+    Future<V> result;
+    try {
+      result = operation.get();
+    } catch (Exception e) {
+      result = Future.failedFuture(e);
+    }
+    // the operation may complete synchronously, so only register the
+    // completion handler after the key has been published
+    result.onComplete(ar -> {
+      inFlight.remove(key, future);
+      promise.handle(ar);
+    });
+    return future;
+  }
+
+  /**
+   * @return the number of keys with an operation in flight
+   */
+  public int size() {
+    return inFlight.size();
+  }
+}
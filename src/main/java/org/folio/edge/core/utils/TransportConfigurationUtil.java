@@ -0,0 +1,106 @@
+package org.folio.edge.core.utils;
+
+import static org.folio.edge.core.Constants.DEFAULT_ACCEPT_BACKLOG;
+import static org.folio.edge.core.Constants.DEFAULT_RECEIVE_BUFFER_SIZE;
+import static org.folio.edge.core.Constants.DEFAULT_REUSE_PORT;
+import static org.folio.edge.core.Constants.DEFAULT_SEND_BUFFER_SIZE;
+import static org.folio.edge.core.Constants.DEFAULT_TCP_FAST_OPEN;
+import static org.folio.edge.core.Constants.DEFAULT_TCP_NO_DELAY;
+import static org.folio.edge.core.Constants.DEFAULT_TCP_QUICK_ACK;
+import static org.folio.edge.core.Constants.DEFAULT_TRANSPORT;
+import static org.folio.edge.core.Constants.SYS_ACCEPT_BACKLOG;
+import static org.folio.edge.core.Constants.SYS_RECEIVE_BUFFER_SIZE;
+import static org.folio.edge.core.Constants.SYS_REUSE_PORT;
+import static org.folio.edge.core.Constants.SYS_SEND_BUFFER_SIZE;
+import static org.folio.edge.core.Constants.SYS_TCP_FAST_OPEN;
+import static org.folio.edge.core.Constants.SYS_TCP_NO_DELAY;
+import static org.folio.edge.core.Constants.SYS_TCP_QUICK_ACK;
+import static org.folio.edge.core.Constants.SYS_TRANSPORT;
+
+import io.vertx.core.VertxBuilder;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.net.TCPSSLOptions;
+import io.vertx.core.transport.Transport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Applies the transport and TCP system properties to Vert.x, the edge HTTP
+ * server and the Okapi client.
+ *
+ * <p>TCP fast open, quick ack and port reuse need a native transport.
+ */
+public class TransportConfigurationUtil {
+  private static final Logger logger = LogManager.getLogger(TransportConfigurationUtil.class);
+
+  public static final String TRANSPORT_NIO = "nio";
+  public static final String TRANSPORT_EPOLL = "epoll";
+  public static final String TRANSPORT_IO_URING = "io_uring";
+
+  private TransportConfigurationUtil() {}
+
+  /**
+   * Select the transport of the Vert.x instance to build, to be used when
+   * creating Vert.x, e.g. from a launcher hook:
+   * <pre>
+   * TransportConfigurationUtil.configureTransport(Constants.DEFAULT_DEPLOYMENT_OPTIONS, Vertx.builder()).build()
+   * </pre>
+   * Falls back to NIO if the native transport is not available on this host.
+   */
+  public static VertxBuilder configureTransport(JsonObject config, VertxBuilder builder) {
+    final String name = config.getString(SYS_TRANSPORT, DEFAULT_TRANSPORT);
+    final Transport transport;
+    switch (name) {
+      case TRANSPORT_NIO:
+        return builder;
+      case TRANSPORT_EPOLL:
+        transport = Transport.EPOLL;
+        break;
+      case TRANSPORT_IO_URING:
+        transport = Transport.IO_URING;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown transport: " + name
+            + ", valid: " + TRANSPORT_NIO + ", " + TRANSPORT_EPOLL + ", " + TRANSPORT_IO_URING);
+    }
+
+    if (!transport.available()) {
+      logger.warn("Transport {} is not available, falling back to {}: {}", name, TRANSPORT_NIO,
+          transport.unavailabilityCause().getMessage());
+      return builder;
+    }
+    logger.info("Using transport: {}", name);
+    return builder.withTransport(transport);
+  }
+
+  public static void configureServerOptions(JsonObject config, HttpServerOptions serverOptions) {
+    configureTcpOptions(config, serverOptions);
+    final int acceptBacklog = config.getInteger(SYS_ACCEPT_BACKLOG, DEFAULT_ACCEPT_BACKLOG);
+    logger.info("Using accept backlog: {}", acceptBacklog);
+    serverOptions.setAcceptBacklog(acceptBacklog);
+  }
+
+  public static void configureClientOptions(JsonObject config, HttpClientOptions clientOptions) {
+    configureTcpOptions(config, clientOptions);
+  }
+
+  private static void configureTcpOptions(JsonObject config, TCPSSLOptions options) {
+    final boolean tcpNoDelay = config.getBoolean(SYS_TCP_NO_DELAY, DEFAULT_TCP_NO_DELAY);
+    final boolean tcpFastOpen = config.getBoolean(SYS_TCP_FAST_OPEN, DEFAULT_TCP_FAST_OPEN);
+    final boolean tcpQuickAck = config.getBoolean(SYS_TCP_QUICK_ACK, DEFAULT_TCP_QUICK_ACK);
+    final boolean reusePort = config.getBoolean(SYS_REUSE_PORT, DEFAULT_REUSE_PORT);
+    final int receiveBufferSize = config.getInteger(SYS_RECEIVE_BUFFER_SIZE, DEFAULT_RECEIVE_BUFFER_SIZE);
+    final int sendBufferSize = config.getInteger(SYS_SEND_BUFFER_SIZE, DEFAULT_SEND_BUFFER_SIZE);
+    logger.debug("Using TCP no delay: {} fast open: {} quick ack: {} reuse port: {} receive buffer: {} send buffer: {}",
+        tcpNoDelay, tcpFastOpen, tcpQuickAck, reusePort, receiveBufferSize, sendBufferSize);
+
+    options.setTcpNoDelay(tcpNoDelay);
+    options.setTcpFastOpen(tcpFastOpen);
+    options.setTcpQuickAck(tcpQuickAck);
+    options.setReusePort(reusePort);
+    options.setReceiveBufferSize(receiveBufferSize);
+    options.setSendBufferSize(sendBufferSize);
+  }
+}
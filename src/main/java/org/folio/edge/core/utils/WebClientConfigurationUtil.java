@@ -0,0 +1,170 @@
+package org.folio.edge.core.utils;
+
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_HEDGING;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_HEDGING_PERCENTILE;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_HTTP2;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_MAX_POOL_SIZE;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_MAX_RETRIES;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_PIPELINING;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_PIPELINING_LIMIT;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_RETRY_BASE_DELAY_MS;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_RETRY_BUDGET_PERCENT;
+import static org.folio.edge.core.Constants.DEFAULT_OKAPI_CLIENT_RETRY_MAX_DELAY_MS;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HEDGING;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HEDGING_PERCENTILE;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HTTP2;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_MAX_POOL_SIZE;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_MAX_RETRIES;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_PIPELINING;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_PIPELINING_LIMIT;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_RETRY_BASE_DELAY_MS;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_RETRY_BUDGET_PERCENT;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_RETRY_MAX_DELAY_MS;
+
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Applies the okapi_client_* system properties to the options of the web
+ * client shared by an {@link OkapiClientFactory}.
+ */
+public class WebClientConfigurationUtil {
+  private static final Logger logger = LogManager.getLogger(WebClientConfigurationUtil.class);
+
+  private WebClientConfigurationUtil() {}
+
+  public static WebClientOptions createWebClientOptions(JsonObject config) {
+    final int keepAliveTimeout = config.getInteger(SYS_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S,
+        DEFAULT_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S);
+    final boolean pipelining = config.getBoolean(SYS_OKAPI_CLIENT_PIPELINING, DEFAULT_OKAPI_CLIENT_PIPELINING);
+    final int pipeliningLimit = config.getInteger(SYS_OKAPI_CLIENT_PIPELINING_LIMIT,
+        DEFAULT_OKAPI_CLIENT_PIPELINING_LIMIT);
+    logger.info("Using Okapi client keep-alive timeout (s): {} pipelining: {} pipelining limit: {}",
+        keepAliveTimeout, pipelining, pipeliningLimit);
+
+    WebClientOptions options = new WebClientOptions()
+      .setKeepAlive(true)
+      .setKeepAliveTimeout(keepAliveTimeout)
+      .setPipelining(pipelining)
+      .setPipeliningLimit(pipeliningLimit);
+
+    if (config.getBoolean(SYS_OKAPI_CLIENT_HTTP2, DEFAULT_OKAPI_CLIENT_HTTP2)) {
+      final int multiplexingLimit = config.getInteger(SYS_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT,
+          DEFAULT_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT);
+      logger.info("Using HTTP/2 for Okapi client, multiplexing limit: {}", multiplexingLimit);
+      // negotiated with ALPN over TLS, prior knowledge h2c otherwise
+      options.setProtocolVersion(HttpVersion.HTTP_2)
+        .setUseAlpn(true)
+        .setHttp2ClearTextUpgrade(false)
+        .setHttp2KeepAliveTimeout(keepAliveTimeout)
+        .setHttp2MultiplexingLimit(multiplexingLimit);
+    }
+    TransportConfigurationUtil.configureClientOptions(config, options);
+    return options;
+  }
+
+  public static PoolOptions createPoolOptions(JsonObject config) {
+    final int maxPoolSize = config.getInteger(SYS_OKAPI_CLIENT_MAX_POOL_SIZE, DEFAULT_OKAPI_CLIENT_MAX_POOL_SIZE);
+    final int maxWaitQueueSize = config.getInteger(SYS_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE,
+        DEFAULT_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE);
+    final int http2MaxPoolSize = config.getInteger(SYS_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE,
+        DEFAULT_OKAPI_CLIENT_HTTP2_MAX_POOL_SIZE);
+    logger.info("Using Okapi client max pool size: {} HTTP/2 max pool size: {} max wait queue size: {}",
+        maxPoolSize, http2MaxPoolSize, maxWaitQueueSize);
+
+    return new PoolOptions()
+      .setHttp1MaxSize(maxPoolSize)
+      .setHttp2MaxSize(http2MaxPoolSize)
+      .setMaxWaitQueueSize(maxWaitQueueSize);
+  }
+
+  /**
+   * @return the circuit breakers for the Okapi clients, null if both the
+   *         circuit breaker and the bulkhead are disabled
+   */
+  public static CircuitBreakerRegistry createCircuitBreakers(JsonObject config) {
+    final int failureThreshold = config.getInteger(SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+        DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD);
+    final long resetTimeoutMs = config.getLong(SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS,
+        DEFAULT_OKAPI_CLIENT_CIRCUIT_BREAKER_RESET_TIMEOUT_MS);
+    final int maxConcurrent = config.getInteger(SYS_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT,
+        DEFAULT_OKAPI_CLIENT_BULKHEAD_MAX_CONCURRENT);
+    if (failureThreshold <= 0 && maxConcurrent <= 0) {
+      return null;
+    }
+    logger.info("Using Okapi client circuit breaker failure threshold: {} reset timeout (ms): {} "
+        + "bulkhead max concurrent: {}", failureThreshold, resetTimeoutMs, maxConcurrent);
+    return new CircuitBreakerRegistry(failureThreshold, resetTimeoutMs, maxConcurrent);
+  }
+
+  /**
+   * @return the hedging policy for GET requests to Okapi, null if disabled
+   */
+  public static HedgingPolicy createHedgingPolicy(JsonObject config) {
+    if (!config.getBoolean(SYS_OKAPI_CLIENT_HEDGING, DEFAULT_OKAPI_CLIENT_HEDGING)) {
+      return null;
+    }
+    final double percentile = config.getDouble(SYS_OKAPI_CLIENT_HEDGING_PERCENTILE,
+        DEFAULT_OKAPI_CLIENT_HEDGING_PERCENTILE);
+    final double budgetPercent = config.getDouble(SYS_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT,
+        DEFAULT_OKAPI_CLIENT_HEDGING_BUDGET_PERCENT);
+    logger.info("Using Okapi client hedging percentile: {} budget (%): {}", percentile, budgetPercent);
+    return new HedgingPolicy(percentile, budgetPercent);
+  }
+
+  /**
+   * @return the retry policy for idempotent requests to Okapi, null if
+   *         disabled
+   */
+  public static RetryPolicy createRetryPolicy(JsonObject config) {
+    final int maxRetries = config.getInteger(SYS_OKAPI_CLIENT_MAX_RETRIES, DEFAULT_OKAPI_CLIENT_MAX_RETRIES);
+    if (maxRetries <= 0) {
+      return null;
+    }
+    final long baseDelayMs = config.getLong(SYS_OKAPI_CLIENT_RETRY_BASE_DELAY_MS,
+        DEFAULT_OKAPI_CLIENT_RETRY_BASE_DELAY_MS);
+    final long maxDelayMs = config.getLong(SYS_OKAPI_CLIENT_RETRY_MAX_DELAY_MS,
+        DEFAULT_OKAPI_CLIENT_RETRY_MAX_DELAY_MS);
+    final double budgetPercent = config.getDouble(SYS_OKAPI_CLIENT_RETRY_BUDGET_PERCENT,
+        DEFAULT_OKAPI_CLIENT_RETRY_BUDGET_PERCENT);
+    logger.info("Using Okapi client max retries: {} base delay (ms): {} max delay (ms): {} budget (%): {}",
+        maxRetries, baseDelayMs, maxDelayMs, budgetPercent);
+    return new RetryPolicy(maxRetries, baseDelayMs, maxDelayMs, budgetPercent);
+  }
+
+  /**
+   * @return the cache for the responses to GET requests to Okapi, null if
+   *         disabled
+   */
+  public static ResponseCache createResponseCache(JsonObject config) {
+    final long maxBytes = config.getLong(SYS_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES,
+        DEFAULT_OKAPI_CLIENT_RESPONSE_CACHE_MAX_BYTES);
+    if (maxBytes <= 0) {
+      return null;
+    }
+    logger.info("Using Okapi client response cache max bytes: {}", maxBytes);
+    return new ResponseCache(maxBytes);
+  }
+}
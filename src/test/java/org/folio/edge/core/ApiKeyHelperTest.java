@@ -167,6 +167,24 @@ public class ApiKeyHelperTest {
     new ApiKeyHelper("");
   }
 
+  @Test
+  public void testGetFromAuthorization() {
+    logger.info("=== Test apikey scheme of the Authorization header ===");
+    assertEquals("abc_123", ApiKeyHelper.getFromAuthorization("apikey abc_123"));
+    assertEquals("abc", ApiKeyHelper.getFromAuthorization("ApiKey abc=="));
+    assertEquals("abc", ApiKeyHelper.getFromAuthorization("Bearer xyz, APIKEY abc"));
+    // the last one wins
+    assertEquals("def", ApiKeyHelper.getFromAuthorization("apikey abc apikey def"));
+    assertEquals("", ApiKeyHelper.getFromAuthorization("apikey -abc"));
+    // not the apikey scheme
+    assertEquals("abc", ApiKeyHelper.getFromAuthorization("abc"));
+    assertEquals("apikeyabc", ApiKeyHelper.getFromAuthorization("apikeyabc"));
+    assertEquals("apikey\tabc", ApiKeyHelper.getFromAuthorization("apikey\tabc"));
+    assertEquals("api\u212Aey abc", ApiKeyHelper.getFromAuthorization("api\u212Aey abc"));
+    // multi-line values are taken as is
+    assertEquals("apikey abc\n", ApiKeyHelper.getFromAuthorization("apikey abc\n"));
+  }
+
   private static class TestVerticle {
     private static final Logger logger = LogManager.getLogger(TestVerticle.class);
 
@@ -1,9 +1,15 @@
 package org.folio.edge.core;
 
+import static org.folio.edge.core.Constants.SYS_INSTANCES;
+import static org.folio.edge.core.Constants.SYS_OKAPI_URL;
 import static org.folio.edge.core.Constants.SYS_PORT;
 import static org.folio.edge.core.Constants.SYS_SECURE_STORE_PROP_FILE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 
 import io.vertx.core.DeploymentOptions;
@@ -17,6 +23,8 @@ import io.vertx.ext.unit.junit.VertxUnitRunner;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.folio.edge.core.utils.test.TestUtils;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -51,6 +59,35 @@ public class EdgeVerticleCoreTest {
     ));
   }
 
+  @Test
+  public void testMultipleInstances(TestContext context) {
+    int serverPort = TestUtils.getPort();
+    JsonObject jo = new JsonObject()
+        .put(SYS_PORT, serverPort)
+        .put(SYS_OKAPI_URL, "http://localhost:" + TestUtils.getPort())
+        .put(SYS_INSTANCES, 3);
+
+    List<TestVerticleTcpServer> verticles = TestVerticleMultiInstance.instances;
+    vertx.deployVerticle(TestVerticleMultiInstance.class.getName(), EdgeVerticleCore.deploymentOptions(jo))
+    .onComplete(context.asyncAssertSuccess(res -> {
+      assertThat(verticles, hasSize(3));
+      TestVerticleTcpServer first = verticles.get(0);
+      assertThat(first.secureStore, notNullValue());
+      for (TestVerticleTcpServer verticle : verticles) {
+        context.assertEquals(serverPort, verticle.port);
+        assertThat(verticle.secureStore, sameInstance(first.secureStore));
+        assertThat(verticle.getOkapiClientFactory().getHttpClient(),
+            sameInstance(first.getOkapiClientFactory().getHttpClient()));
+        if (verticle != first) {
+          // clients aren't thread-safe, every instance has its own
+          assertThat(verticle.getOkapiClientFactory(), not(sameInstance(first.getOkapiClientFactory())));
+          assertThat(verticle.getOkapiClientFactory().getOkapiClient("diku"),
+              not(sameInstance(first.getOkapiClientFactory().getOkapiClient("diku"))));
+        }
+      }
+    }));
+  }
+
   public static class TestVerticleTcpServer extends EdgeVerticleCore {
     int port;
     @Override
@@ -65,6 +102,14 @@ public class EdgeVerticleCoreTest {
     }
   }
 
+  public static class TestVerticleMultiInstance extends TestVerticleTcpServer {
+    static final List<TestVerticleTcpServer> instances = new CopyOnWriteArrayList<>();
+
+    public TestVerticleMultiInstance() {
+      instances.add(this);
+    }
+  }
+
   // test getProperties failure handling
   // not doing it directly because we want to check that the Verticle reports failure
   @Test
@@ -0,0 +1,99 @@
+package org.folio.edge.core;
+
+import static org.folio.edge.core.Constants.SYS_HTTP2;
+import static org.folio.edge.core.Constants.SYS_HTTP2_MAX_CONCURRENT_STREAMS;
+import static org.folio.edge.core.Constants.SYS_LOG_LEVEL;
+import static org.folio.edge.core.Constants.SYS_OKAPI_URL;
+import static org.folio.edge.core.Constants.SYS_PORT;
+import static org.folio.edge.core.Constants.SYS_SECURE_STORE_PROP_FILE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.edge.core.EdgeVerticleHttpTest.TestVerticleHttp;
+import org.folio.edge.core.utils.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class EdgeVerticleHttp2Test {
+
+  private static final Logger logger = LogManager.getLogger(EdgeVerticleHttp2Test.class);
+
+  private static final long http2MaxConcurrentStreams = 50;
+
+  private static Vertx vertx;
+  private static int serverPort;
+
+  @BeforeClass
+  public static void setUpOnce(TestContext context) {
+    serverPort = TestUtils.getPort();
+
+    vertx = Vertx.vertx();
+
+    JsonObject jo = new JsonObject()
+        .put(SYS_PORT, serverPort)
+        .put(SYS_OKAPI_URL, "http://localhost:" + TestUtils.getPort())
+        .put(SYS_SECURE_STORE_PROP_FILE, "src/main/resources/ephemeral.properties")
+        .put(SYS_LOG_LEVEL, "INFO")
+        .put(SYS_HTTP2, true)
+        .put(SYS_HTTP2_MAX_CONCURRENT_STREAMS, http2MaxConcurrentStreams);
+
+    final DeploymentOptions opt = new DeploymentOptions().setConfig(jo);
+    vertx.deployVerticle(TestVerticleHttp.class.getName(), opt).onComplete(context.asyncAssertSuccess());
+  }
+
+  @AfterClass
+  public static void tearDownOnce(TestContext context) {
+    vertx.close().onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testHttp2PriorKnowledge(TestContext context) {
+    logger.info("=== Test HTTP/2 with prior knowledge ===");
+
+    HttpClient client = vertx.createHttpClient(new HttpClientOptions()
+        .setProtocolVersion(HttpVersion.HTTP_2)
+        .setHttp2ClearTextUpgrade(false));
+    client.request(HttpMethod.GET, serverPort, "localhost", "/admin/health")
+      .compose(req -> req.send())
+      .compose(resp -> {
+        assertThat(resp.statusCode(), is(200));
+        assertThat(resp.version(), is(HttpVersion.HTTP_2));
+        assertThat(resp.request().connection().remoteSettings().getMaxConcurrentStreams(),
+            is(http2MaxConcurrentStreams));
+        return resp.body();
+      })
+      .eventually(() -> client.close())
+      .onComplete(context.asyncAssertSuccess(body -> assertThat(body.toString(), is("\"OK\""))));
+  }
+
+  @Test
+  public void testHttp1(TestContext context) {
+    logger.info("=== Test HTTP/1.1 remains available ===");
+
+    HttpClient client = vertx.createHttpClient();
+    client.request(HttpMethod.GET, serverPort, "localhost", "/admin/health")
+      .compose(req -> req.send())
+      .compose(resp -> {
+        assertThat(resp.statusCode(), is(200));
+        assertThat(resp.version(), is(HttpVersion.HTTP_1_1));
+        return resp.body();
+      })
+      .eventually(() -> client.close())
+      .onComplete(context.asyncAssertSuccess(body -> assertThat(body.toString(), is("\"OK\""))));
+  }
+}
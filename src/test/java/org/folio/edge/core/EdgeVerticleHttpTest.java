@@ -30,7 +30,9 @@ import org.junit.runner.RunWith;
 
 import io.restassured.RestAssured;
 import io.vertx.core.DeploymentOptions;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.TestContext;
@@ -183,6 +185,20 @@ public class EdgeVerticleHttpTest {
         .body(is("Not Found"));
   }
 
+  @Test
+  public void testStreamedResponse() {
+    logger.info("=== Test streaming the response of OKAPI ===");
+
+    RestAssured
+        .with()
+        .header(X_ECHO_STATUS, "202")
+        .get(String.format("/stream/something?apikey=%s", apiKey))
+        .then()
+        .contentType(TEXT_PLAIN)
+        .statusCode(202)
+        .body(is(""));
+  }
+
   @Test
   public void testCachedToken() {
     logger.info("=== Test the tokens are cached and reused ===");
@@ -228,6 +244,10 @@ public class EdgeVerticleHttpTest {
     @Override
     public Router defineRoutes() {
       OkapiClientFactory ocf = new OkapiClientFactory(vertx, config().getString(SYS_OKAPI_URL), config().getInteger(SYS_REQUEST_TIMEOUT_MS));
+      return defineRoutes(ocf);
+    }
+
+    protected Router defineRoutes(OkapiClientFactory ocf) {
       ApiKeyHelper apiKeyHelper = new ApiKeyHelper("HEADER,PARAM,PATH");
 
       Router router = Router.router(vertx);
@@ -237,6 +257,9 @@ public class EdgeVerticleHttpTest {
       router.route(HttpMethod.GET, "/login/and/do/something")
         .handler(new GetTokenHandler(ocf, secureStore, apiKeyHelper)::handle);
 
+      router.route(HttpMethod.GET, "/stream/something")
+        .handler(new StreamHandler(ocf, secureStore, apiKeyHelper)::handle);
+
       router.route(HttpMethod.GET, "/internal/server/error")
         .handler(new handle500(secureStore, ocf)::handle);
       return router;
@@ -264,6 +287,26 @@ public class EdgeVerticleHttpTest {
     }
   }
 
+  private static class StreamHandler extends Handler {
+    public StreamHandler(OkapiClientFactory ocf, SecureStore secureStore, ApiKeyHelper keyHelper) {
+      super(secureStore, ocf, keyHelper);
+    }
+
+    public void handle(RoutingContext ctx) {
+      super.handleCommon(ctx,
+              new String[] {},
+              new String[] {},
+              (client, params) -> {
+                MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                  .add(X_ECHO_STATUS, ctx.request().getHeader(X_ECHO_STATUS))
+                  .add(HttpHeaders.CONTENT_TYPE, TEXT_PLAIN);
+                client.send(HttpMethod.GET, String.format("%s/echo", client.okapiURL), client.tenant, headers)
+                  .onSuccess(resp -> handleProxyResponse(ctx, resp))
+                  .onFailure(t -> handleProxyException(ctx, t));
+              });
+    }
+  }
+
   private static class handle500 extends Handler {
 
     public handle500(SecureStore secureStore, OkapiClientFactory ocf) {
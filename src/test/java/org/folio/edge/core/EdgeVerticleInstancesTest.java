@@ -0,0 +1,116 @@
+package org.folio.edge.core;
+
+import static org.folio.edge.core.Constants.SYS_INSTANCES;
+import static org.folio.edge.core.Constants.SYS_LOG_LEVEL;
+import static org.folio.edge.core.Constants.SYS_OKAPI_URL;
+import static org.folio.edge.core.Constants.SYS_PORT;
+import static org.folio.edge.core.Constants.SYS_REQUEST_TIMEOUT_MS;
+import static org.folio.edge.core.Constants.SYS_SECURE_STORE_PROP_FILE;
+import static org.folio.edge.core.Constants.TEXT_PLAIN;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.edge.core.utils.ApiKeyUtils;
+import org.folio.edge.core.utils.test.MockOkapi;
+import org.folio.edge.core.utils.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.Router;
+
+@RunWith(VertxUnitRunner.class)
+public class EdgeVerticleInstancesTest {
+
+  private static final Logger logger = LogManager.getLogger(EdgeVerticleInstancesTest.class);
+
+  private static final String apiKey = ApiKeyUtils.generateApiKey("gYn0uFv3Lf", "diku", "diku");
+  private static final int instances = 4;
+  private static final int requests = 40;
+
+  private static Vertx vertx;
+  private static MockOkapi mockOkapi;
+  private static int serverPort;
+
+  @BeforeClass
+  public static void setUpOnce(TestContext context) throws Exception {
+    int okapiPort = TestUtils.getPort();
+    serverPort = TestUtils.getPort();
+
+    List<String> knownTenants = new ArrayList<>();
+    knownTenants.add(ApiKeyUtils.parseApiKey(apiKey).tenantId);
+
+    mockOkapi = new MockOkapi(okapiPort, knownTenants);
+    mockOkapi.start().onComplete(context.asyncAssertSuccess());
+
+    vertx = Vertx.vertx();
+
+    JsonObject jo = new JsonObject()
+        .put(SYS_PORT, serverPort)
+        .put(SYS_OKAPI_URL, "http://localhost:" + okapiPort)
+        .put(SYS_SECURE_STORE_PROP_FILE, "src/main/resources/ephemeral.properties")
+        .put(SYS_LOG_LEVEL, "INFO")
+        .put(SYS_REQUEST_TIMEOUT_MS, 5000)
+        .put(SYS_INSTANCES, instances);
+
+    vertx.deployVerticle(TestVerticleSharedFactory.class.getName(), EdgeVerticleCore.deploymentOptions(jo))
+      .onComplete(context.asyncAssertSuccess());
+  }
+
+  @AfterClass
+  public static void tearDownOnce(TestContext context) {
+    vertx.close()
+        .compose(x -> mockOkapi.close())
+        .onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testConcurrentRequestsOfOneTenant(TestContext context) {
+    logger.info("=== Test concurrent requests of one tenant to several instances ===");
+
+    // a connection per request, spread over the instances
+    HttpClient client = vertx.createHttpClient(new HttpClientOptions(), new PoolOptions().setHttp1MaxSize(requests));
+    List<Future<Void>> responses = new ArrayList<>();
+    for (int i = 0; i < requests; i++) {
+      String body = "success" + i;
+      responses.add(client.request(HttpMethod.GET, serverPort, "localhost",
+            String.format("/login/and/do/something?apikey=%s&foo=bar", apiKey))
+        .compose(req -> req.putHeader(HttpHeaders.CONTENT_TYPE, TEXT_PLAIN).send(body))
+        .compose(resp -> {
+          assertThat(resp.statusCode(), is(200));
+          return resp.body();
+        })
+        .map(buffer -> {
+          assertThat(buffer.toString(), is(body));
+          return null;
+        }));
+    }
+    Future.all(responses)
+      .eventually(() -> client.close())
+      .onComplete(context.asyncAssertSuccess());
+  }
+
+  public static class TestVerticleSharedFactory extends EdgeVerticleHttpTest.TestVerticleHttp {
+
+    @Override
+    public Router defineRoutes() {
+      return defineRoutes(getOkapiClientFactory());
+    }
+  }
+}
@@ -2,12 +2,16 @@ package org.folio.edge.core;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.Mockito.*;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.folio.edge.core.security.SecureStore;
+import org.folio.edge.core.utils.EdgeMetrics;
 import org.folio.edge.core.utils.OkapiClient;
 import org.junit.Rule;
 import org.junit.Test;
@@ -34,4 +38,111 @@ public class InstitutionalUserHelperTest {
     .onComplete(context.asyncAssertSuccess(result -> assertThat(result, is("tok"))));
   }
 
+  @Test
+  public void testConcurrentFetchTokenLogsInOnce(TestContext context) {
+    var secureStore = mock(SecureStore.class);
+
+    Promise<String> login = Promise.promise();
+    var okapiClient = mock(OkapiClient.class);
+    when(okapiClient.loginWithSupplier(eq("user"), any())).thenReturn(login.future());
+
+    var institutionalUserHelper = new InstitutionalUserHelper(secureStore);
+    var f1 = institutionalUserHelper.fetchToken(okapiClient, "salt", "tenant", "user");
+    var f2 = institutionalUserHelper.fetchToken(okapiClient, "salt", "tenant", "user");
+    login.complete("tok");
+
+    Future.all(f1, f2).onComplete(context.asyncAssertSuccess(x -> {
+      assertThat(f1.result(), is("tok"));
+      assertThat(f2.result(), is("tok"));
+      verify(okapiClient, times(1)).loginWithSupplier(eq("user"), any());
+    }));
+  }
+
+  @Test
+  public void testWaiterSharesTokenClient(TestContext context) {
+    var secureStore = mock(SecureStore.class);
+
+    Promise<String> login = Promise.promise();
+    var leader = mock(OkapiClient.class);
+    var waiter = mock(OkapiClient.class);
+    when(leader.loginWithSupplier(eq("user"), any())).thenReturn(login.future());
+
+    var institutionalUserHelper = new InstitutionalUserHelper(secureStore);
+    var f1 = institutionalUserHelper.fetchToken(leader, "salt", "tenant", "user");
+    var f2 = institutionalUserHelper.fetchToken(waiter, "salt", "tenant", "user");
+    login.complete("tok");
+
+    Future.all(f1, f2).onComplete(context.asyncAssertSuccess(x -> {
+      assertThat(f2.result(), is("tok"));
+      verify(waiter, never()).loginWithSupplier(any(), any());
+      verify(waiter).shareTokenClient(leader);
+      verify(waiter).setToken("tok");
+      verify(leader, never()).shareTokenClient(any());
+    }));
+  }
+
+  @Test
+  public void testWaiterCompletesOnItsContext(TestContext context) {
+    var secureStore = mock(SecureStore.class);
+
+    Promise<String> login = Promise.promise();
+    var leader = mock(OkapiClient.class);
+    var waiter = mock(OkapiClient.class);
+    when(leader.loginWithSupplier(eq("user"), any())).thenReturn(login.future());
+
+    var vertx = Vertx.vertx();
+    var leaderContext = vertx.getOrCreateContext();
+    var waiterContext = vertx.getOrCreateContext();
+    var institutionalUserHelper = new InstitutionalUserHelper(secureStore);
+    leaderContext.runOnContext(v -> {
+      institutionalUserHelper.fetchToken(leader, "salt", "tenant", "user");
+      waiterContext.runOnContext(w -> {
+        institutionalUserHelper.fetchToken(waiter, "salt", "tenant", "user")
+          .onComplete(context.asyncAssertSuccess(token -> {
+            assertThat(token, is("tok"));
+            assertThat(Vertx.currentContext(), is(waiterContext));
+            vertx.close().onComplete(context.asyncAssertSuccess());
+          }));
+        leaderContext.runOnContext(x -> login.complete("tok"));
+      });
+    });
+  }
+
+  @Test
+  public void testSecureStoresDontShareLogins(TestContext context) {
+    Promise<String> login = Promise.promise();
+    var client1 = mock(OkapiClient.class);
+    var client2 = mock(OkapiClient.class);
+    when(client1.loginWithSupplier(eq("user"), any())).thenReturn(login.future());
+    when(client2.loginWithSupplier(eq("user"), any())).thenReturn(Future.succeededFuture("tok2"));
+
+    var f1 = new InstitutionalUserHelper(mock(SecureStore.class)).fetchToken(client1, "salt", "tenant", "user");
+    var f2 = new InstitutionalUserHelper(mock(SecureStore.class)).fetchToken(client2, "salt", "tenant", "user");
+    login.complete("tok1");
+
+    Future.all(f1, f2).onComplete(context.asyncAssertSuccess(x -> {
+      assertThat(f1.result(), is("tok1"));
+      assertThat(f2.result(), is("tok2"));
+      verify(client2, never()).shareTokenClient(any());
+    }));
+  }
+
+  @Test
+  public void testFailedLoginNotInMetrics(TestContext context) {
+    var secureStore = mock(SecureStore.class);
+
+    var okapiClient = mock(OkapiClient.class);
+    when(okapiClient.loginWithSupplier(eq("user"), any())).thenReturn(Future.failedFuture("denied"));
+
+    var registry = EdgeMetrics.initialize();
+    var institutionalUserHelper = new InstitutionalUserHelper(secureStore);
+    institutionalUserHelper.fetchToken(okapiClient, "salt", "made-up", "user")
+    .onComplete(context.asyncAssertFailure(t -> {
+      try {
+        assertThat(registry.find("edge.token.cache").counter(), is(nullValue()));
+      } finally {
+        EdgeMetrics.close();
+      }
+    }));
+  }
 }
@@ -1,5 +1,9 @@
 package org.folio.edge.core;
 
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_MAX_POOL_SIZE;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_PIPELINING;
 import static org.folio.edge.core.Constants.SYS_OKAPI_URL;
 import static org.folio.edge.core.Constants.SYS_REQUEST_TIMEOUT_MS;
 import static org.folio.edge.core.Constants.FOLIO_CLIENT_TLS_ENABLED;
@@ -9,10 +13,13 @@ import static org.folio.edge.core.Constants.FOLIO_CLIENT_TLS_TRUSTSTORETYPE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.net.KeyStoreOptions;
+import io.vertx.ext.web.client.WebClientOptions;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.folio.edge.core.utils.OkapiClient;
 import org.folio.edge.core.utils.OkapiClientFactory;
@@ -70,4 +77,28 @@ public class OkapiClientInitializerTest {
     OkapiClient client = ocf.getOkapiClient("tenant");
     assertNotNull(client);
   }
+
+  @Test
+  public void testPoolConfiguration() throws IllegalAccessException {
+    Vertx vertx = Vertx.vertx();
+    JsonObject config = new JsonObject()
+      .put(SYS_OKAPI_URL, OKAPI_URL)
+      .put(SYS_REQUEST_TIMEOUT_MS, REQ_TIMEOUT_MS)
+      .put(FOLIO_CLIENT_TLS_ENABLED, false)
+      .put(SYS_OKAPI_CLIENT_MAX_POOL_SIZE, 50)
+      .put(SYS_OKAPI_CLIENT_MAX_WAIT_QUEUE_SIZE, 500)
+      .put(SYS_OKAPI_CLIENT_KEEP_ALIVE_TIMEOUT_S, 30)
+      .put(SYS_OKAPI_CLIENT_PIPELINING, true);
+    OkapiClientFactory ocf = OkapiClientFactoryInitializer.createInstance(vertx, config);
+
+    PoolOptions poolOptions = (PoolOptions) FieldUtils.readDeclaredField(ocf, "poolOptions", true);
+    assertEquals(50, poolOptions.getHttp1MaxSize());
+    assertEquals(500, poolOptions.getMaxWaitQueueSize());
+
+    WebClientOptions options = (WebClientOptions) FieldUtils.readDeclaredField(
+        ocf.getOkapiClient("tenant").client, "options", true);
+    assertEquals(30, options.getKeepAliveTimeout());
+    assertTrue(options.isPipelining());
+    assertEquals(REQ_TIMEOUT_MS.intValue(), options.getConnectTimeout());
+  }
 }
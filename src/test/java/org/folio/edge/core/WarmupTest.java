@@ -0,0 +1,120 @@
+package org.folio.edge.core;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.folio.edge.core.model.ClientInfo;
+import org.folio.edge.core.security.SecureStore;
+import org.folio.edge.core.utils.ApiKeyUtils;
+import org.folio.edge.core.utils.OkapiClient;
+import org.folio.edge.core.utils.OkapiClientFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class WarmupTest {
+
+  private Vertx vertx;
+
+  @Before
+  public void setUp() {
+    vertx = Vertx.vertx();
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close().onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testParseClients() {
+    String apiKey = ApiKeyUtils.generateApiKey("salt", "diku", "diku");
+    List<ClientInfo> clients = Warmup.parseClients(
+        "# comment, ignored\n" + apiKey + ", salt2:tenant2:user2\nbogus\n\n salt3:tenant3:user3 ");
+
+    assertEquals(3, clients.size());
+    assertEquals("diku", clients.get(0).tenantId);
+    assertEquals("salt2", clients.get(1).salt);
+    assertEquals("tenant2", clients.get(1).tenantId);
+    assertEquals("user2", clients.get(1).username);
+    assertEquals("tenant3", clients.get(2).tenantId);
+    assertEquals(0, Warmup.parseClients(null).size());
+  }
+
+  @Test
+  public void testBoundedConcurrency(TestContext context) {
+    SecureStore secureStore = mock(SecureStore.class);
+    OkapiClient okapiClient = mock(OkapiClient.class);
+    OkapiClientFactory okapiClientFactory = mock(OkapiClientFactory.class);
+    when(okapiClientFactory.getOkapiClient(anyString())).thenReturn(okapiClient);
+
+    List<Promise<String>> logins = new ArrayList<>();
+    when(okapiClient.loginWithSupplier(anyString(), any())).thenAnswer(invocation -> {
+      Promise<String> login = Promise.promise();
+      logins.add(login);
+      return login.future();
+    });
+
+    List<ClientInfo> clients = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      clients.add(new ClientInfo("warmup", "tenant" + i, "user" + i));
+    }
+
+    Future<Void> warmup = new Warmup(vertx, secureStore, okapiClientFactory, 2).run(clients, 60000);
+    assertThat(logins.size(), is(2));
+
+    // completing a login starts the next one
+    logins.get(0).complete("tok");
+    assertThat(logins.size(), is(3));
+    logins.get(1).fail("login failed");
+    assertThat(logins.size(), is(4));
+    logins.get(2).complete("tok");
+    logins.get(3).complete("tok");
+    assertThat(logins.size(), is(5));
+    logins.get(4).complete("tok");
+
+    warmup.onComplete(context.asyncAssertSuccess(x ->
+      verify(okapiClient, times(5)).loginWithSupplier(anyString(), any())));
+  }
+
+  @Test
+  public void testSecureStoreOnly(TestContext context) {
+    SecureStore secureStore = mock(SecureStore.class);
+    when(secureStore.get(any(Vertx.class), anyString(), anyString(), anyString()))
+      .thenReturn(Future.succeededFuture("password"));
+
+    List<ClientInfo> clients = List.of(new ClientInfo("salt", "diku", "diku"));
+    new Warmup(vertx, secureStore, null, 4).run(clients, 60000)
+      .onComplete(context.asyncAssertSuccess(x ->
+        verify(secureStore).get(vertx, "salt", "diku", "diku")));
+  }
+
+  @Test
+  public void testTimeout(TestContext context) {
+    SecureStore secureStore = mock(SecureStore.class);
+    when(secureStore.get(any(Vertx.class), anyString(), anyString(), anyString()))
+      .thenReturn(Promise.<String>promise().future());
+
+    List<ClientInfo> clients = List.of(new ClientInfo("salt", "diku", "diku"));
+    new Warmup(vertx, secureStore, null, 4).run(clients, 100)
+      .onComplete(context.asyncAssertSuccess());
+  }
+}
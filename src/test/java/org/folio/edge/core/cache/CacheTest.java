@@ -3,7 +3,14 @@ package org.folio.edge.core.cache;
 import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
-
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.LogManager;
@@ -12,6 +19,8 @@ import org.folio.edge.core.cache.Cache.CacheValue;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.vertx.core.Vertx;
+
 public class CacheTest {
 
   private static final Logger logger = LogManager.getLogger(CacheTest.class);
@@ -117,6 +126,151 @@ public class CacheTest {
     }
   }
 
+  @Test
+  public void testConcurrentPutGet() throws Exception {
+    logger.info("=== Test concurrent puts stay within capacity... ===");
+
+    final int threads = 8;
+    final int perThread = 1000;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      List<Callable<Void>> tasks = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final String prefix = key + t + "_";
+        tasks.add(() -> {
+          for (long i = 0; i < perThread; i++) {
+            cache.put(prefix + i, i);
+            Long cached = cache.get(prefix + i);
+            if (cached != null) {
+              assertEquals(i, cached.longValue());
+            }
+          }
+          return null;
+        });
+      }
+      for (Future<Void> f : executor.invokeAll(tasks)) {
+        f.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(cap, cache.size());
+
+    // a new entry still evicts the oldest one
+    cache.put(key, 0L);
+    assertEquals(0L, cache.get(key).longValue());
+    assertTrue(cache.size() <= cap);
+  }
+
+  @Test
+  public void testExpirySweeper() throws Exception {
+    logger.info("=== Test the expiry sweeper evicts expired entries... ===");
+
+    Vertx vertx = Vertx.vertx();
+    Cache<Long> swept = new Cache.Builder<Long>()
+      .withCapacity(cap)
+      .withTTL(200)
+      .withNullValueTTL(100)
+      .withExpirySweeper(vertx, 20, 3)
+      .build();
+    try {
+      for (Long i = 0L; i < 10; i++) {
+        swept.put(key + i, i);
+      }
+      swept.put("nullValueKey", null);
+      assertEquals(11, swept.size());
+      assertEquals(0L, swept.get(key + 0).longValue());
+
+      // evicted without being read, a few entries per sweep
+      await().with()
+        .pollInterval(20, TimeUnit.MILLISECONDS)
+        .atMost(5, TimeUnit.SECONDS)
+        .until(() -> swept.size() == 0);
+      assertNull(swept.get(key + 0));
+    } finally {
+      swept.close();
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void testExpiryAfterClose() throws Exception {
+    logger.info("=== Test entries expire after the expiry sweeper is closed... ===");
+
+    Vertx vertx = Vertx.vertx();
+    // the sweeper never ticks during the test
+    Cache<Long> swept = new Cache.Builder<Long>()
+      .withCapacity(cap)
+      .withTTL(100)
+      .withNullValueTTL(100)
+      .withExpirySweeper(vertx, 60000, 10)
+      .build();
+    try {
+      swept.put(key + 0, 0L);
+      swept.close();
+      swept.put(key + 1, 1L);
+      assertEquals(1L, swept.get(key + 1).longValue());
+
+      await().with()
+        .pollInterval(20, TimeUnit.MILLISECONDS)
+        .atMost(5, TimeUnit.SECONDS)
+        .until(() -> swept.get(key + 0) == null);
+      assertNull(swept.get(key + 1));
+      assertEquals(0, swept.size());
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void testRemovalListener() throws Exception {
+    logger.info("=== Test the removal listener sees evicted values... ===");
+
+    List<Long> removed = new ArrayList<>();
+    Cache<Long> listened = new Cache.Builder<Long>()
+      .withCapacity(2)
+      .withTTL(ttl)
+      .withNullValueTTL(nullValueTtl)
+      .withRemovalListener(removed::add)
+      .build();
+
+    listened.put(key + 0, 0L);
+    listened.put(key + 1, 1L);
+    listened.put(key + 2, 2L);
+
+    assertEquals(List.of(0L), removed);
+  }
+
+  @Test
+  public void testGetCachedNullValue() throws Exception {
+    logger.info("=== Test a cached null value is told apart from a miss... ===");
+
+    assertNull(cache.getCached(key));
+
+    cache.put(key, null);
+    CacheValue<Long> cached = cache.getCached(key);
+    assertNull(cached.value);
+    assertNull(cache.get(key));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testInvalidExpirySweeper() {
+    logger.info("=== Test construction w/ invalid sweep interval... ===");
+
+    Vertx vertx = Vertx.vertx();
+    try {
+      new Cache.Builder<String>()
+        .withCapacity(cap)
+        .withTTL(ttl)
+        .withNullValueTTL(nullValueTtl)
+        .withExpirySweeper(vertx, 0, 10)
+        .build();
+    } finally {
+      vertx.close();
+    }
+  }
+
   @Test
   public void testWithString() throws Exception {
     final String val = "someValue";
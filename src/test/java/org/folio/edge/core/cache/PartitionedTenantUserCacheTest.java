@@ -0,0 +1,106 @@
+package org.folio.edge.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.folio.edge.core.cache.PartitionedTenantUserCache.PartitionStats;
+import org.junit.Test;
+
+public class PartitionedTenantUserCacheTest {
+
+  private static final long EXPIRES = Long.MAX_VALUE;
+
+  @Test
+  public void testGetPut() {
+    PartitionedTenantUserCache cache = new PartitionedTenantUserCache(10, 0);
+    assertNull(cache.get("diku", "user"));
+
+    cache.put("diku", "user", "token1", EXPIRES);
+    cache.put("other", "user", "token2", EXPIRES);
+    assertEquals("token1", cache.get("diku", "user"));
+    assertEquals("token2", cache.get("other", "user"));
+    assertNull(cache.get("diku", "other"));
+
+    // replacing doesn't grow the cache
+    cache.put("diku", "user", "token3", EXPIRES);
+    assertEquals("token3", cache.get("diku", "user"));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testExpired() {
+    PartitionedTenantUserCache cache = new PartitionedTenantUserCache(2, 0);
+    cache.put("diku", "expired", "token1", System.currentTimeMillis() - 1);
+    cache.put("diku", "user1", "token2", EXPIRES);
+    assertNull(cache.get("diku", "expired"));
+
+    // the expired token goes first, although user1 is less recently used
+    cache.get("diku", "user1");
+    cache.put("diku", "user2", "token3", EXPIRES);
+    assertEquals("token2", cache.get("diku", "user1"));
+    assertEquals("token3", cache.get("diku", "user2"));
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  public void testTenantCapacity() {
+    PartitionedTenantUserCache cache = new PartitionedTenantUserCache(10, 2);
+    cache.put("diku", "user1", "token1", EXPIRES);
+    cache.put("diku", "user2", "token2", EXPIRES);
+    cache.put("other", "user1", "token3", EXPIRES);
+    cache.get("diku", "user1");
+
+    cache.put("diku", "user3", "token4", EXPIRES);
+    assertEquals("token1", cache.get("diku", "user1"));
+    assertNull(cache.get("diku", "user2"));
+    assertEquals("token4", cache.get("diku", "user3"));
+    assertEquals("token3", cache.get("other", "user1"));
+    assertEquals(3, cache.size());
+    assertEquals(1, cache.getStats("diku").evictions);
+    assertEquals(0, cache.getStats("other").evictions);
+  }
+
+  @Test
+  public void testCapacityEvictsLargestTenant() {
+    PartitionedTenantUserCache cache = new PartitionedTenantUserCache(4, 0);
+    cache.put("small", "user1", "token1", EXPIRES);
+    for (int i = 0; i < 10; i++) {
+      cache.put("noisy", "user" + i, "token" + i, EXPIRES);
+    }
+    // the least recently used token of all, but its tenant is the smallest
+    assertEquals("token1", cache.get("small", "user1"));
+    assertEquals(3, cache.getStats("noisy").size);
+    assertEquals(4, cache.size());
+
+    // the inserting tenant is evicted from once it's the largest
+    cache.put("small", "user2", "token2", EXPIRES);
+    cache.put("small", "user3", "token3", EXPIRES);
+    cache.put("small", "user4", "token4", EXPIRES);
+    assertEquals(2, cache.getStats("small").size);
+    assertEquals(2, cache.getStats("noisy").size);
+    assertEquals("token4", cache.get("small", "user4"));
+    assertEquals(4, cache.size());
+  }
+
+  @Test
+  public void testStats() {
+    PartitionedTenantUserCache cache = new PartitionedTenantUserCache(10, 0);
+    // no partition for tenants without tokens
+    assertNull(cache.get("bogus", "user"));
+    assertEquals(0, cache.getStats("bogus").misses);
+
+    cache.put("diku", "user", "token", EXPIRES);
+    cache.get("diku", "user");
+    cache.get("diku", "user");
+    cache.get("diku", "user");
+    cache.get("diku", "other");
+
+    PartitionStats stats = cache.getStats("diku");
+    assertEquals(1, stats.size);
+    assertEquals(3, stats.hits);
+    assertEquals(1, stats.misses);
+    assertEquals(0, stats.evictions);
+    assertEquals(0.75, stats.hitRate(), 0);
+    assertEquals(0, cache.getStats("bogus").hitRate(), 0);
+  }
+}
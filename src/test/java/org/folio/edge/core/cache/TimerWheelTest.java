@@ -0,0 +1,71 @@
+package org.folio.edge.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.folio.edge.core.cache.Cache.CacheValue;
+import org.folio.edge.core.cache.Cache.Node;
+import org.junit.Test;
+
+public class TimerWheelTest {
+
+  private static final long START = 1_700_000_000_000L;
+  private static final long MINUTE = 60 * 1000L;
+  private static final long DAY = 24 * 60 * MINUTE;
+
+  private static Node<String> node(String key, long expires) {
+    return new Node<>(key, new CacheValue<>(key, expires));
+  }
+
+  @Test
+  public void testExpiresAcrossLevels() {
+    TimerWheel<String> wheel = new TimerWheel<>(START);
+    List<Node<String>> nodes = new ArrayList<>();
+    long[] delays = { 500, 5000, 2 * MINUTE, 90 * MINUTE, 2 * DAY, 10 * DAY };
+    for (long delay : delays) {
+      Node<String> n = node("k" + delay, START + delay);
+      nodes.add(n);
+      wheel.schedule(n);
+    }
+
+    Set<Node<String>> expired = new HashSet<>();
+    long now = START;
+    while (now < START + 11 * DAY) {
+      now += 1000;
+      final long time = now;
+      wheel.advance(now, n -> {
+        // never handed over before it expired, and not much later either
+        assertTrue(n.cached.expires < time);
+        assertTrue(time - n.cached.expires <= 2 * TimerWheel.SPANS[0]);
+        expired.add(n);
+      });
+    }
+
+    assertEquals(nodes.size(), expired.size());
+  }
+
+  @Test
+  public void testDeschedule() {
+    TimerWheel<String> wheel = new TimerWheel<>(START);
+    Node<String> kept = node("kept", START + 3000);
+    Node<String> removed = node("removed", START + 3000);
+    wheel.schedule(kept);
+    wheel.schedule(removed);
+    wheel.deschedule(removed);
+    // descheduling twice is a no-op
+    wheel.deschedule(removed);
+
+    Set<Node<String>> expired = new HashSet<>();
+    wheel.advance(START + 10_000, expired::add);
+
+    assertTrue(expired.contains(kept));
+    assertFalse(expired.contains(removed));
+    assertEquals(START + 10_000, wheel.time());
+  }
+}
@@ -0,0 +1,101 @@
+package org.folio.edge.core.cache;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.edge.core.utils.OkapiClient;
+import org.folio.edge.core.utils.OkapiClientFactory;
+import org.folio.edge.core.utils.test.MockOkapi;
+import org.folio.edge.core.utils.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class TokenRefresherTest {
+
+  private static final String tenant = "diku";
+
+  private Vertx vertx;
+  private MockOkapi mockOkapi;
+  private OkapiClient client;
+
+  @Before
+  public void setUp(TestContext context) {
+    int okapiPort = TestUtils.getPort();
+
+    vertx = Vertx.vertx();
+    mockOkapi = spy(new MockOkapi(vertx, okapiPort, List.of(tenant)));
+    mockOkapi.start().onComplete(context.asyncAssertSuccess());
+
+    TokenCacheFactory.initialize(100);
+    client = new OkapiClientFactory(vertx, "http://localhost:" + okapiPort, 1000).getOkapiClient(tenant);
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    TokenCacheFactory.setRefresher(null);
+    vertx.close().onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testExpiresFromJwt() {
+    String payload = new JsonObject().put("sub", "diku").put("exp", 1_900_000_000L).encode();
+    String jwt = "eyJhbGciOiJIUzI1NiJ9."
+        + Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8))
+        + ".c2lnbmF0dXJl";
+
+    assertEquals(1_900_000_000_000L, TokenRefresher.expires(jwt, 0, 1000));
+  }
+
+  @Test
+  public void testExpiresDefaultTtl() {
+    assertEquals(1500L, TokenRefresher.expires("not-a-jwt", 500, 1000));
+    assertEquals(1500L, TokenRefresher.expires("a.bm90IGpzb24.c", 500, 1000));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidFraction() {
+    new TokenRefresher(vertx, 1.5, 0, 1000);
+  }
+
+  @Test
+  public void testRefreshThenDropUnused() {
+    TokenRefresher refresher = new TokenRefresher(vertx, 0.5, 0, 400);
+    TokenCacheFactory.setRefresher(refresher);
+    assertNull(TokenCacheFactory.get().get(tenant, "admin"));
+
+    refresher.track(client, "salt", tenant, "admin", () -> Future.succeededFuture("password"), "tok");
+    assertEquals(1, refresher.size());
+
+    // refreshed in the background after ~200ms ...
+    await().with()
+      .pollInterval(20, TimeUnit.MILLISECONDS)
+      .atMost(2, TimeUnit.SECONDS)
+      .until(() -> MockOkapi.MOCK_TOKEN.equals(TokenCacheFactory.get().get(tenant, "admin")));
+    verify(mockOkapi, atLeastOnce()).loginHandler(any());
+
+    // ... and no longer refreshed as nobody used the token since
+    await().with()
+      .pollInterval(20, TimeUnit.MILLISECONDS)
+      .atMost(2, TimeUnit.SECONDS)
+      .until(() -> refresher.size() == 0);
+  }
+}
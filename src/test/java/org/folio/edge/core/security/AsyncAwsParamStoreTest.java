@@ -0,0 +1,186 @@
+package org.folio.edge.core.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.folio.edge.core.security.SecureStore.NotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import software.amazon.awssdk.core.SdkSystemSetting;
+
+@RunWith(VertxUnitRunner.class)
+public class AsyncAwsParamStoreTest {
+
+  private static final String ACCESS_KEY_SYSTEM_PROPERTY = SdkSystemSetting.AWS_ACCESS_KEY_ID.property();
+  private static final String SECRET_KEY_SYSTEM_PROPERTY = SdkSystemSetting.AWS_SECRET_ACCESS_KEY.property();
+
+  private Vertx vertx;
+  private HttpServer server;
+  // names requested by every GetParameters call the stub received
+  private final List<JsonArray> calls = new CopyOnWriteArrayList<>();
+  private AsyncAwsParamStore secureStore;
+
+  @Before
+  public void setUp(TestContext context) {
+    System.setProperty(ACCESS_KEY_SYSTEM_PROPERTY, "bogus");
+    System.setProperty(SECRET_KEY_SYSTEM_PROPERTY, "bogus");
+
+    vertx = Vertx.vertx();
+    // stub SSM endpoint: every parameter except the bogus user's exists,
+    // its value being the parameter name reversed; calls with a name of the
+    // rejected user fail validation
+    server = vertx.createHttpServer()
+      .requestHandler(req -> req.body().onSuccess(body -> {
+        context.assertEquals("AmazonSSM.GetParameters", req.getHeader("X-Amz-Target"));
+        JsonArray names = body.toJsonObject().getJsonArray("Names");
+        calls.add(names);
+        if (names.stream().anyMatch(name -> ((String) name).endsWith("_rejected"))) {
+          req.response()
+            .setStatusCode(400)
+            .putHeader("Content-Type", "application/x-amz-json-1.1")
+            .putHeader("x-amzn-ErrorType", "ValidationException")
+            .end(new JsonObject().put("__type", "ValidationException").put("message", "rejected").encode());
+          return;
+        }
+        JsonArray parameters = new JsonArray();
+        JsonArray invalid = new JsonArray();
+        names.forEach(name -> {
+          if (((String) name).endsWith("_bogus")) {
+            invalid.add(name);
+          } else {
+            parameters.add(new JsonObject()
+              .put("Name", name)
+              .put("Type", "SecureString")
+              .put("Value", new StringBuilder((String) name).reverse().toString()));
+          }
+        });
+        req.response()
+          .putHeader("Content-Type", "application/x-amz-json-1.1")
+          .end(new JsonObject().put("Parameters", parameters).put("InvalidParameters", invalid).encode());
+      }));
+
+    server.listen(0)
+      .onSuccess(s -> {
+        Properties props = new Properties();
+        props.setProperty(AwsParamStore.PROP_REGION, "us-east-1");
+        props.setProperty(AwsParamStore.PROP_USE_IAM, "false");
+        props.setProperty(AsyncAwsParamStore.PROP_ENDPOINT_OVERRIDE, "http://localhost:" + s.actualPort());
+        props.setProperty(AsyncAwsParamStore.PROP_BATCH_WINDOW_MS, "50");
+        secureStore = new AsyncAwsParamStore(props);
+      })
+      .onComplete(context.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    System.clearProperty(ACCESS_KEY_SYSTEM_PROPERTY);
+    System.clearProperty(SECRET_KEY_SYSTEM_PROPERTY);
+    if (secureStore != null) {
+      secureStore.close();
+    }
+    vertx.close().onComplete(context.asyncAssertSuccess());
+  }
+
+  @Test
+  public void testGetFound(TestContext context) {
+    secureStore.get(vertx, "salt", "diku", "diku")
+      .onComplete(context.asyncAssertSuccess(value -> {
+        assertEquals("ukid_ukid_tlas", value);
+        assertEquals(1, calls.size());
+      }));
+  }
+
+  @Test
+  public void testGetNotFound(TestContext context) {
+    secureStore.get(vertx, "salt", "diku", "bogus")
+      .onComplete(context.asyncAssertFailure(t -> context.assertTrue(t instanceof NotFoundException)));
+  }
+
+  @Test
+  public void testGetBatched(TestContext context) {
+    List<Future<String>> futures = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      futures.add(secureStore.get(vertx, "salt", "tenant" + i, "user"));
+    }
+    // the same key twice only needs one name in the batch
+    futures.add(secureStore.get(vertx, "salt", "tenant11", "user"));
+
+    Future.all(futures).onComplete(context.asyncAssertSuccess(all -> {
+      for (int i = 0; i < 12; i++) {
+        assertEquals(new StringBuilder("salt_tenant" + i + "_user").reverse().toString(), all.resultAt(i));
+      }
+      assertEquals(all.resultAt(11), all.resultAt(12));
+      assertEquals(2, calls.size());
+      assertEquals(AsyncAwsParamStore.MAX_BATCH_SIZE, calls.get(0).size());
+      assertEquals(2, calls.get(1).size());
+    }));
+  }
+
+  @Test
+  public void testInvalidNameNotBatched(TestContext context) {
+    Future<String> found = secureStore.get(vertx, "salt", "diku", "diku");
+    Future<String> invalid = secureStore.get(vertx, "salt", "diku", "user name");
+
+    invalid.onComplete(context.asyncAssertFailure(t -> context.assertTrue(t instanceof NotFoundException)));
+    found.onComplete(context.asyncAssertSuccess(value -> {
+      assertEquals("ukid_ukid_tlas", value);
+      assertEquals(1, calls.size());
+      assertEquals(new JsonArray().add("salt_diku_diku"), calls.get(0));
+    }));
+  }
+
+  @Test
+  public void testRejectedBatchGetsNamesOneByOne(TestContext context) {
+    Future<String> found = secureStore.get(vertx, "salt", "diku", "diku");
+    Future<String> rejected = secureStore.get(vertx, "salt", "diku", "rejected");
+
+    Future.join(found, rejected).onComplete(context.asyncAssertFailure(x -> {
+      assertEquals("ukid_ukid_tlas", found.result());
+      context.assertTrue(rejected.cause() instanceof NotFoundException);
+      // the batch, then each name alone
+      assertEquals(3, calls.size());
+    }));
+  }
+
+  @Test
+  public void testIsValidName() {
+    assertValidName("salt_diku_diku", true);
+    assertValidName("/edge/salt_diku_diku", true);
+    assertValidName("salt/diku_diku", false);
+    assertValidName("salt_diku_user name", false);
+    assertValidName("salt_diku_" + "x".repeat(AsyncAwsParamStore.MAX_NAME_LENGTH), false);
+  }
+
+  private static void assertValidName(String name, boolean valid) {
+    assertEquals(name, valid, AsyncAwsParamStore.isValidName(name));
+  }
+
+  @Test
+  public void testGetBlocking() throws Exception {
+    CompletableFuture<String> found = CompletableFuture.supplyAsync(() -> {
+      try {
+        return secureStore.get("salt", "diku", "diku");
+      } catch (NotFoundException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertThrows(NotFoundException.class, () -> secureStore.get("salt", "diku", "bogus"));
+    assertEquals("ukid_ukid_tlas", found.get());
+  }
+}
@@ -0,0 +1,116 @@
+package org.folio.edge.core.security;
+
+import static org.folio.edge.core.Constants.APPLICATION_JSON;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.edge.core.security.SecureStore.NotFoundException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class AsyncVaultStoreTest {
+
+  private static final String TOKEN = "root";
+  private static final String CLIENT_ID = "abcdef1234";
+
+  private Vertx vertx;
+  private HttpServer server;
+
+  @Before
+  public void setUp(TestContext context) {
+    vertx = Vertx.vertx();
+    // mock Vault serving secret abcdef1234/diku from both KV v1 and v2 paths
+    server = vertx.createHttpServer()
+      .requestHandler(req -> {
+        if (!TOKEN.equals(req.getHeader(AsyncVaultStore.X_VAULT_TOKEN))) {
+          req.response().setStatusCode(403).end("{\"errors\":[\"permission denied\"]}");
+          return;
+        }
+        JsonObject secret = new JsonObject().put("diku", "Pa$$w0rd");
+        switch (req.path()) {
+        case "/v1/" + CLIENT_ID + "/data/diku":
+          req.response()
+            .putHeader("Content-Type", APPLICATION_JSON)
+            .end(new JsonObject().put("data", new JsonObject().put("data", secret)).encode());
+          break;
+        case "/v1/" + CLIENT_ID + "/diku":
+          req.response()
+            .putHeader("Content-Type", APPLICATION_JSON)
+            .end(new JsonObject().put("data", secret).encode());
+          break;
+        default:
+          req.response().setStatusCode(404).end("{\"errors\":[]}");
+        }
+      });
+    server.listen(0).onComplete(context.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext context) {
+    vertx.close().onComplete(context.asyncAssertSuccess());
+  }
+
+  private AsyncVaultStore createStore(String token, String kvVersion) {
+    Properties props = new Properties();
+    props.setProperty(VaultStore.PROP_VAULT_TOKEN, token);
+    props.setProperty(VaultStore.PROP_VAULT_ADDRESS, "http://localhost:" + server.actualPort());
+    props.setProperty(AsyncVaultStore.PROP_KV_VERSION, kvVersion);
+    return new AsyncVaultStore(props);
+  }
+
+  @Test
+  public void testGetKv2(TestContext context) {
+    createStore(TOKEN, "2").get(vertx, CLIENT_ID, "diku", "diku")
+      .onComplete(context.asyncAssertSuccess(password -> assertEquals("Pa$$w0rd", password)));
+  }
+
+  @Test
+  public void testGetKv1(TestContext context) {
+    createStore(TOKEN, "1").get(vertx, CLIENT_ID, "diku", "diku")
+      .onComplete(context.asyncAssertSuccess(password -> assertEquals("Pa$$w0rd", password)));
+  }
+
+  @Test
+  public void testGetMissingAttribute(TestContext context) {
+    createStore(TOKEN, "2").get(vertx, CLIENT_ID, "diku", "bogus")
+      .onComplete(context.asyncAssertFailure(t -> {
+        context.assertTrue(t instanceof NotFoundException);
+        assertEquals("Attribute: bogus not set for " + CLIENT_ID + "/diku", t.getMessage());
+      }));
+  }
+
+  @Test
+  public void testGetUnknownKey(TestContext context) {
+    createStore(TOKEN, "2").get(vertx, CLIENT_ID, "bogus", "bogus")
+      .onComplete(context.asyncAssertFailure(t -> context.assertTrue(t instanceof NotFoundException)));
+  }
+
+  @Test
+  public void testGetBadToken(TestContext context) {
+    createStore("bogus", "2").get(vertx, CLIENT_ID, "diku", "diku")
+      .onComplete(context.asyncAssertFailure(t -> context.assertFalse(t instanceof NotFoundException)));
+  }
+
+  @Test
+  public void testGetBlocking() throws Exception {
+    AsyncVaultStore store = createStore(TOKEN, "2");
+    try {
+      assertEquals("Pa$$w0rd", store.get(CLIENT_ID, "diku", "diku"));
+      assertThrows(NotFoundException.class, () -> store.get(CLIENT_ID, "bogus", "bogus"));
+    } finally {
+      store.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+  }
+}
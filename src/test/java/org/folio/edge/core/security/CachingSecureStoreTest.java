@@ -0,0 +1,109 @@
+package org.folio.edge.core.security;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Properties;
+
+import org.folio.edge.core.security.SecureStore.NotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+
+@RunWith(VertxUnitRunner.class)
+public class CachingSecureStoreTest {
+
+  private SecureStore delegate;
+  private Properties props;
+
+  @Before
+  public void setUp() throws Exception {
+    delegate = mock(SecureStore.class);
+    when(delegate.get("salt", "diku", "diku")).thenReturn("password");
+    when(delegate.get("salt", "diku", "bogus")).thenThrow(new NotFoundException("bogus"));
+
+    props = new Properties();
+    props.setProperty(CachingSecureStore.PROP_CACHE_TTL_MS, "60000");
+    props.setProperty(CachingSecureStore.PROP_CACHE_NULL_VALUE_TTL_MS, "60000");
+  }
+
+  @Test
+  public void testIsEnabled() {
+    assertTrue(CachingSecureStore.isEnabled(props));
+    assertFalse(CachingSecureStore.isEnabled(new Properties()));
+    assertFalse(CachingSecureStore.isEnabled(null));
+  }
+
+  @Test
+  public void testFactory() {
+    props.setProperty(EphemeralStore.PROP_TENANTS, "diku");
+    props.setProperty("diku", "diku,password");
+
+    SecureStore store = SecureStoreFactory.getSecureStore(EphemeralStore.TYPE, props);
+    assertThat(store, is(instanceOf(CachingSecureStore.class)));
+    assertThat(((CachingSecureStore) store).delegate, is(instanceOf(EphemeralStore.class)));
+  }
+
+  @Test
+  public void testGetCached() throws Exception {
+    SecureStore store = new CachingSecureStore(delegate, props);
+
+    assertEquals("password", store.get("salt", "diku", "diku"));
+    assertEquals("password", store.get("salt", "diku", "diku"));
+    verify(delegate, times(1)).get("salt", "diku", "diku");
+  }
+
+  @Test
+  public void testNotFoundCached() throws Exception {
+    SecureStore store = new CachingSecureStore(delegate, props);
+
+    assertThrows(NotFoundException.class, () -> store.get("salt", "diku", "bogus"));
+    assertThrows(NotFoundException.class, () -> store.get("salt", "diku", "bogus"));
+    verify(delegate, times(1)).get("salt", "diku", "bogus");
+  }
+
+  @Test
+  public void testGetFuture(TestContext context) {
+    Vertx vertx = Vertx.vertx();
+    when(delegate.get(any(Vertx.class), any(), any(), any()))
+      .thenReturn(Future.succeededFuture("password"));
+    SecureStore store = new CachingSecureStore(delegate, props);
+
+    store.get(vertx, "salt", "diku", "diku")
+      .compose(x -> store.get(vertx, "salt", "diku", "diku"))
+      .onComplete(context.asyncAssertSuccess(value -> {
+        assertThat(value, is("password"));
+        verify(delegate, times(1)).get(any(Vertx.class), any(), any(), any());
+      }));
+  }
+
+  @Test
+  public void testGetFutureNotFound(TestContext context) {
+    Vertx vertx = Vertx.vertx();
+    when(delegate.get(any(Vertx.class), any(), any(), any()))
+      .thenReturn(Future.failedFuture(new NotFoundException("bogus")));
+    SecureStore store = new CachingSecureStore(delegate, props);
+
+    store.get(vertx, "salt", "diku", "bogus")
+      .recover(e -> store.get(vertx, "salt", "diku", "bogus"))
+      .onComplete(context.asyncAssertFailure(e -> {
+        assertThat(e, is(instanceOf(NotFoundException.class)));
+        verify(delegate, times(1)).get(any(Vertx.class), any(), any(), any());
+      }));
+  }
+}
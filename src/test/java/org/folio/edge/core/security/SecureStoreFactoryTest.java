@@ -18,8 +18,10 @@ public class SecureStoreFactoryTest {
       throws IllegalArgumentException, IllegalAccessException, NoSuchFieldException, SecurityException {
     Class<?>[] stores = new Class<?>[] {
         AwsParamStore.class,
+        AsyncAwsParamStore.class,
         EphemeralStore.class,
-        VaultStore.class
+        VaultStore.class,
+        AsyncVaultStore.class
     };
 
     SecureStore actual;
@@ -27,8 +29,8 @@ public class SecureStoreFactoryTest {
     for (Class<?> clazz : stores) {
       Properties props = new Properties();
 
-      if (clazz.equals(AwsParamStore.class)) {
-        props.put(AwsParamStore.PROP_REGION, "us-east-1");
+      if (AbstractAwsParamStore.class.isAssignableFrom(clazz)) {
+        props.put(AbstractAwsParamStore.PROP_REGION, "us-east-1");
       }
 
       actual = SecureStoreFactory.getSecureStore((String) clazz.getField("TYPE").get(null), props);
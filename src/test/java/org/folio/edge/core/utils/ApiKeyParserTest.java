@@ -0,0 +1,86 @@
+package org.folio.edge.core.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import org.folio.edge.core.model.ClientInfo;
+import org.junit.Test;
+
+public class ApiKeyParserTest {
+
+  private static String encode(String json) {
+    return Base64.getUrlEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void assertParsed(String salt, String tenantId, String username, String json) {
+    ClientInfo info = ApiKeyParser.parse(encode(json));
+    assertEquals(salt, info.salt);
+    assertEquals(tenantId, info.tenantId);
+    assertEquals(username, info.username);
+  }
+
+  @Test
+  public void testDecode() {
+    for (int n = 0; n < 10; n++) {
+      byte[] bytes = new byte[n];
+      for (int i = 0; i < n; i++) {
+        bytes[i] = (byte) (i * 37 + 200);
+      }
+      String padded = Base64.getUrlEncoder().encodeToString(bytes);
+      String unpadded = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+      for (String key : new String[] { padded, unpadded }) {
+        assertEquals(n, ApiKeyParser.decode(key));
+        assertArrayEquals(bytes, Arrays.copyOf(ApiKeyParser.buffer(), n));
+      }
+    }
+    assertEquals(-1, ApiKeyParser.decode("a"));
+    assertEquals(-1, ApiKeyParser.decode("ab+/"));
+    assertEquals(-1, ApiKeyParser.decode("ab="));
+    assertEquals(-1, ApiKeyParser.decode("aébc"));
+  }
+
+  @Test
+  public void testParse() {
+    assertParsed("gYn0uFv3Lf", "diku", "diku", "{\"s\":\"gYn0uFv3Lf\",\"t\":\"diku\",\"u\":\"diku\"}");
+    assertParsed("salt", "diku", "user", " { \"u\" : \"user\" ,\n\"t\":\"diku\",\t\"s\":\"salt\" } ");
+    assertParsed("salt", null, null, "{\"s\":\"salt\"}");
+    assertParsed(null, null, null, "{}");
+    assertParsed("", "diku", "user", "{\"s\":\"\",\"t\":\"diku\",\"u\":\"user\"}");
+
+    ClientInfo info = ApiKeyParser.parse(ApiKeyUtils.generateApiKey(17, "diku", "diku_admin"));
+    assertEquals(17, info.salt.length());
+    assertEquals("diku", info.tenantId);
+    assertEquals("diku_admin", info.username);
+  }
+
+  @Test
+  public void testNotHandled() {
+    assertNull(ApiKeyParser.parse(null));
+    assertNull(ApiKeyParser.parse("bogus"));
+    assertNull(ApiKeyParser.parse(encode("")));
+    assertNull(ApiKeyParser.parse(encode("[]")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":null,\"t\":\"diku\",\"u\":\"diku\"}")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":\"a\\\"b\",\"t\":\"diku\",\"u\":\"diku\"}")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":\"salt\",\"t\":\"diku\",\"u\":\"dïku\"}")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":\"salt\",\"x\":\"diku\"}")));
+    assertNull(ApiKeyParser.parse(encode("{\"salt\":\"salt\"}")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":\"a\",\"s\":\"b\"}")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":\"salt\",}")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":\"salt\"} x")));
+    assertNull(ApiKeyParser.parse(encode("{\"s\":\"salt\"")));
+  }
+
+  @Test
+  public void testParseApiKeyCached() throws Exception {
+    String apiKey = ApiKeyUtils.generateApiKey(10, "diku", "diku");
+    ClientInfo info = ApiKeyUtils.parseApiKey(apiKey);
+    assertSame(info, ApiKeyUtils.parseApiKey(apiKey));
+    assertEquals("diku", info.tenantId);
+  }
+}
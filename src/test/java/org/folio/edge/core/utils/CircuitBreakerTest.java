@@ -0,0 +1,150 @@
+package org.folio.edge.core.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.folio.edge.core.utils.CircuitBreaker.State;
+import org.junit.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+public class CircuitBreakerTest {
+
+  private static Future<Integer> call(CircuitBreaker breaker, AtomicInteger calls, Future<Integer> result) {
+    return breaker.execute(() -> {
+      calls.incrementAndGet();
+      return result;
+    }, status -> status >= 500);
+  }
+
+  @Test
+  public void testOpensAfterConsecutiveFailures() {
+    CircuitBreaker breaker = new CircuitBreaker("test", 3, 60000, 0);
+    AtomicInteger calls = new AtomicInteger();
+
+    call(breaker, calls, Future.succeededFuture(503));
+    call(breaker, calls, Future.failedFuture("connection reset"));
+    // success resets the count
+    call(breaker, calls, Future.succeededFuture(200));
+    assertEquals(State.CLOSED, breaker.getState());
+
+    call(breaker, calls, Future.succeededFuture(500));
+    call(breaker, calls, Future.succeededFuture(502));
+    call(breaker, calls, Future.failedFuture("timeout"));
+    assertEquals(State.OPEN, breaker.getState());
+    assertEquals(6, calls.get());
+
+    Future<Integer> rejected = call(breaker, calls, Future.succeededFuture(200));
+    assertTrue(rejected.failed());
+    assertThat(rejected.cause(), instanceOf(ServiceUnavailableException.class));
+    assertEquals(60, ((ServiceUnavailableException) rejected.cause()).getRetryAfterSeconds());
+    assertEquals(6, calls.get());
+  }
+
+  @Test
+  public void testHalfOpenProbe() throws InterruptedException {
+    CircuitBreaker breaker = new CircuitBreaker("test", 1, 10, 0);
+    AtomicInteger calls = new AtomicInteger();
+
+    call(breaker, calls, Future.succeededFuture(504));
+    assertEquals(State.OPEN, breaker.getState());
+    Thread.sleep(20);
+
+    // a single probe is let through
+    Promise<Integer> probe = Promise.promise();
+    call(breaker, calls, probe.future());
+    assertEquals(State.HALF_OPEN, breaker.getState());
+    assertTrue(call(breaker, calls, Future.succeededFuture(200)).failed());
+    assertEquals(2, calls.get());
+
+    // failed probe opens again
+    probe.complete(503);
+    assertEquals(State.OPEN, breaker.getState());
+    Thread.sleep(20);
+
+    // successful probe closes
+    assertEquals(Integer.valueOf(200), call(breaker, calls, Future.succeededFuture(200)).result());
+    assertEquals(State.CLOSED, breaker.getState());
+    assertEquals(3, calls.get());
+  }
+
+  @Test
+  public void testBulkhead() {
+    CircuitBreaker breaker = new CircuitBreaker("test", 0, 10, 2);
+    AtomicInteger calls = new AtomicInteger();
+    Promise<Integer> p1 = Promise.promise();
+    Promise<Integer> p2 = Promise.promise();
+
+    call(breaker, calls, p1.future());
+    call(breaker, calls, p2.future());
+    assertEquals(2, breaker.getInFlight());
+    Future<Integer> rejected = call(breaker, calls, Future.succeededFuture(200));
+    assertThat(rejected.cause(), instanceOf(ServiceUnavailableException.class));
+    assertEquals(0, ((ServiceUnavailableException) rejected.cause()).getRetryAfterSeconds());
+    assertEquals(2, calls.get());
+
+    p1.complete(200);
+    assertEquals(1, breaker.getInFlight());
+    assertTrue(call(breaker, calls, Future.succeededFuture(200)).succeeded());
+
+    // bulkhead only, failures never open the circuit
+    p2.fail("timeout");
+    for (int i = 0; i < 10; i++) {
+      call(breaker, calls, Future.succeededFuture(503));
+    }
+    assertEquals(State.CLOSED, breaker.getState());
+    assertEquals(0, breaker.getInFlight());
+  }
+
+  @Test
+  public void testBulkheadUntilDone() {
+    CircuitBreaker breaker = new CircuitBreaker("test", 1, 60000, 1);
+    Promise<Void> done = Promise.promise();
+
+    Future<Integer> result = breaker.execute(() -> Future.succeededFuture(200), status -> status >= 500,
+        status -> done.future());
+    assertTrue(result.succeeded());
+    // e.g. the response body is still streaming
+    assertEquals(1, breaker.getInFlight());
+    assertThat(call(breaker, new AtomicInteger(), Future.succeededFuture(200)).cause(),
+        instanceOf(ServiceUnavailableException.class));
+
+    done.fail("reset");
+    assertEquals(0, breaker.getInFlight());
+    assertEquals(State.OPEN, breaker.getState());
+  }
+
+  @Test
+  public void testExceptionIsFailure() {
+    CircuitBreaker breaker = new CircuitBreaker("test", 1, 60000, 1);
+    Future<Integer> result = breaker.execute(() -> {
+      throw new IllegalStateException("boom");
+    }, status -> false);
+    assertTrue(result.failed());
+    assertEquals(State.OPEN, breaker.getState());
+    assertEquals(0, breaker.getInFlight());
+  }
+
+  @Test
+  public void testRegistry() {
+    CircuitBreakerRegistry registry = new CircuitBreakerRegistry(5, 1000, 0);
+    CircuitBreaker inventory = registry.get("diku", "http://okapi:9130/inventory/items?limit=10");
+    assertSame(inventory, registry.get("diku", "http://okapi:9130/inventory/instances"));
+    assertNotSame(inventory, registry.get("other", "http://okapi:9130/inventory/items"));
+    assertNotSame(inventory, registry.get("diku", "http://okapi:9130/circulation/loans"));
+
+    assertEquals("/inventory", CircuitBreakerRegistry.pathPrefix("http://okapi:9130/inventory/items?limit=10"));
+    assertEquals("/inventory", CircuitBreakerRegistry.pathPrefix("http://okapi:9130/inventory?limit=10"));
+    assertEquals("/inventory", CircuitBreakerRegistry.pathPrefix("/inventory/items"));
+    assertEquals("/", CircuitBreakerRegistry.pathPrefix("http://okapi:9130"));
+    assertEquals("/", CircuitBreakerRegistry.pathPrefix("http://okapi:9130/"));
+    assertEquals("/", CircuitBreakerRegistry.pathPrefix("http://okapi:9130/?a=b"));
+  }
+}
@@ -0,0 +1,82 @@
+package org.folio.edge.core.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class ConcurrencyLimiterTest {
+
+  private static void samples(ConcurrencyLimiter limiter, int windows, long rttMs) {
+    for (int i = 0; i < windows * ConcurrencyLimiter.WINDOW_SIZE; i++) {
+      limiter.onSample(TimeUnit.MILLISECONDS.toNanos(rttMs));
+    }
+  }
+
+  private static void acquire(ConcurrencyLimiter limiter, int n) {
+    for (int i = 0; i < n; i++) {
+      limiter.tryAcquire();
+    }
+  }
+
+  @Test
+  public void testRejectsAboveLimit() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10);
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+    assertEquals(2, limiter.getInFlight());
+
+    limiter.release();
+    assertTrue(limiter.tryAcquire());
+  }
+
+  @Test
+  public void testGrowsWhileLatencyIsStable() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 5, 100);
+    acquire(limiter, 20);
+    samples(limiter, 10, 50);
+    assertThat(limiter.getLimit(), greaterThan(20));
+  }
+
+  @Test
+  public void testDoesNotGrowWhenUnused() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 5, 100);
+    acquire(limiter, 5);
+    samples(limiter, 10, 50);
+    assertEquals(20, limiter.getLimit());
+  }
+
+  @Test
+  public void testShrinksWhenLatencyRises() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(50, 5, 100);
+    acquire(limiter, 50);
+    samples(limiter, 10, 50);
+    int stable = limiter.getLimit();
+
+    samples(limiter, 10, 500);
+    assertThat(limiter.getLimit(), lessThan(stable));
+  }
+
+  @Test
+  public void testBounds() {
+    assertEquals(5, new ConcurrencyLimiter(1, 5, 30).getLimit());
+
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(500, 5, 30);
+    assertEquals(30, limiter.getLimit());
+    acquire(limiter, 30);
+    samples(limiter, 50, 50);
+    assertEquals(30, limiter.getLimit());
+
+    samples(limiter, 20, 5000);
+    assertThat(limiter.getLimit(), lessThan(30));
+    assertThat(limiter.getLimit(), greaterThanOrEqualTo(5));
+  }
+}
@@ -0,0 +1,67 @@
+package org.folio.edge.core.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+
+public class EdgeMetricsTest {
+
+  @Before
+  @After
+  public void tearDown() {
+    EdgeMetrics.close();
+  }
+
+  @Test
+  public void testDisabled() {
+    assertFalse(EdgeMetrics.isEnabled());
+    EdgeMetrics.recordRequest("/foo", "GET", "diku", 200, 1);
+    EdgeMetrics.recordTokenCache("diku", true);
+    EdgeMetrics.recordTokenCacheEviction("diku");
+    assertThat(EdgeMetrics.timeSecureStore(() -> Future.succeededFuture("pw")).result(), is("pw"));
+    assertEquals(-1, EdgeMetrics.monitorEventLoopLag(null, 1000));
+    assertEquals("", EdgeMetrics.scrape());
+  }
+
+  @Test
+  public void testRecord() {
+    EdgeMetrics.initialize();
+    assertTrue(EdgeMetrics.isEnabled());
+    MeterRegistry registry = EdgeMetrics.getRegistry();
+
+    EdgeMetrics.recordRequest("/foo", "GET", "diku", 200, TimeUnit.MILLISECONDS.toNanos(5));
+    EdgeMetrics.recordRequest("/foo", "GET", "diku", 200, TimeUnit.MILLISECONDS.toNanos(5));
+    EdgeMetrics.recordOkapiRequest("diku", "http://okapi:9130/inventory/items?limit=1", 503, 1);
+    EdgeMetrics.recordOkapiRequest("diku", "http://okapi:9130/inventory/items", -1, 1);
+    EdgeMetrics.recordTokenCache("diku", true);
+    EdgeMetrics.recordTokenCache("diku", false);
+    EdgeMetrics.recordTokenCache("diku", true);
+    EdgeMetrics.recordTokenCacheEviction("diku");
+    EdgeMetrics.timeSecureStore(() -> Future.failedFuture("not found"));
+
+    assertEquals(2, registry.get(EdgeMetrics.REQUESTS).tag("route", "/foo").timer().count());
+    assertEquals(1, registry.get(EdgeMetrics.OKAPI_REQUESTS).tag("status", "503").timer().count());
+    assertEquals(1, registry.get(EdgeMetrics.OKAPI_REQUESTS).tag("status", "error").timer().count());
+    assertEquals(2, registry.get(EdgeMetrics.TOKEN_CACHE).tag("result", "hit").counter().count(), 0);
+    assertEquals(1, registry.get(EdgeMetrics.TOKEN_CACHE).tag("result", "miss").counter().count(), 0);
+    assertEquals(1, registry.get(EdgeMetrics.TOKEN_CACHE).tag("result", "eviction").counter().count(), 0);
+    assertEquals(1, registry.get(EdgeMetrics.SECURE_STORE).tag("outcome", "failure").timer().count());
+
+    String scrape = EdgeMetrics.scrape();
+    assertThat(scrape, containsString("edge_requests_seconds_count{"));
+    assertThat(scrape, containsString("route=\"/foo\""));
+    assertThat(scrape, containsString("edge_token_cache_total{"));
+  }
+}
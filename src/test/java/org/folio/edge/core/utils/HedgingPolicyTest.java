@@ -0,0 +1,76 @@
+package org.folio.edge.core.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class HedgingPolicyTest {
+
+  private static void record(LatencyHistogram histogram, int n, long ms) {
+    for (int i = 0; i < n; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+  }
+
+  @Test
+  public void testPercentile() {
+    LatencyHistogram histogram = new LatencyHistogram(60000);
+    assertEquals(-1, histogram.percentileMs(95, 1));
+
+    record(histogram, 90, 10);
+    record(histogram, 10, 1000);
+    assertEquals(-1, histogram.percentileMs(95, 101));
+    assertEquals(10, histogram.percentileMs(50, 100));
+    assertEquals(10, histogram.percentileMs(90, 100));
+    // bucket upper bound, within 20%
+    long p95 = histogram.percentileMs(95, 100);
+    assertTrue(p95 >= 1000 && p95 <= 1200);
+  }
+
+  @Test
+  public void testRollingWindow() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram(100);
+    record(histogram, 10, 1000);
+    Thread.sleep(120);
+    // previous interval still counts
+    long p50 = histogram.percentileMs(50, 10);
+    assertTrue(p50 >= 1000 && p50 <= 1200);
+    Thread.sleep(250);
+    assertEquals(-1, histogram.percentileMs(50, 1));
+  }
+
+  @Test
+  public void testHedgeDelay() {
+    HedgingPolicy policy = new HedgingPolicy(95, 5);
+    String url = "http://okapi:9130/inventory/items";
+    assertSame(policy.histogram(url), policy.histogram("http://okapi:9130/inventory/instances?limit=1"));
+    assertNotSame(policy.histogram(url), policy.histogram("http://okapi:9130/circulation/loans"));
+
+    assertEquals(-1, policy.hedgeDelayMs(url));
+    record(policy.histogram(url), (int) HedgingPolicy.MIN_SAMPLES, 16);
+    assertEquals(16, policy.hedgeDelayMs(url));
+  }
+
+  @Test
+  public void testBudget() {
+    HedgingPolicy policy = new HedgingPolicy(95, 5);
+    String url = "http://okapi:9130/inventory/items";
+    assertFalse(policy.tryAcquire());
+
+    // 5% of 100 requests
+    for (int i = 0; i < 100; i++) {
+      policy.hedgeDelayMs(url);
+    }
+    int hedges = 0;
+    while (policy.tryAcquire()) {
+      hedges++;
+    }
+    assertTrue(hedges >= 4 && hedges <= 5);
+  }
+}
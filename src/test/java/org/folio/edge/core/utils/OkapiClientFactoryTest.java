@@ -1,12 +1,17 @@
 package org.folio.edge.core.utils;
 
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_MAX_POOL_SIZE;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.net.KeyStoreOptions;
 import io.vertx.core.net.TrustOptions;
 import org.apache.commons.lang3.reflect.FieldUtils;
+import org.folio.edge.core.Constants;
 import org.junit.Test;
 
 import io.vertx.core.Vertx;
@@ -65,4 +70,27 @@ public class OkapiClientFactoryTest {
     OkapiClient client = ocf.getOkapiClient("tenant");
     assertNotNull(client);
   }
+
+  @Test
+  public void testClientsSharePool() throws IllegalAccessException {
+    Vertx vertx = Vertx.vertx();
+    OkapiClientFactory ocf = new OkapiClientFactory(vertx, OKAPI_URL, REQ_TIMEOUT_MS);
+
+    OkapiClient diku = ocf.getOkapiClient("diku");
+    OkapiClient other = ocf.getOkapiClient("other");
+
+    assertSame(diku, ocf.getOkapiClient("diku"));
+    assertNotSame(diku, other);
+    assertSame(ocf.getWebClient(), diku.client);
+    assertSame(diku.client, other.client);
+    assertSame(ocf.getHttpClient(), diku.getHttpClient());
+    assertSame(diku.getHttpClient(), other.getHttpClient());
+    assertEquals("diku", diku.tenant);
+    assertEquals("other", other.tenant);
+
+    // sized by the okapi_client_* system properties
+    PoolOptions poolOptions = (PoolOptions) FieldUtils.readDeclaredField(ocf, "poolOptions", true);
+    assertEquals(Constants.DEFAULT_DEPLOYMENT_OPTIONS.getInteger(SYS_OKAPI_CLIENT_MAX_POOL_SIZE).intValue(),
+        poolOptions.getHttp1MaxSize());
+  }
 }
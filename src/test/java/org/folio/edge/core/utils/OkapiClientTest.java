@@ -1,7 +1,13 @@
 package org.folio.edge.core.utils;
 
 import static org.folio.edge.core.Constants.APPLICATION_JSON;
+import static org.folio.edge.core.Constants.FOLIO_CLIENT_TLS_ENABLED;
 import static org.folio.edge.core.Constants.HEADER_API_KEY;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HTTP2;
+import static org.folio.edge.core.Constants.SYS_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT;
+import static org.folio.edge.core.Constants.SYS_OKAPI_URL;
+import static org.folio.edge.core.Constants.SYS_REQUEST_TIMEOUT_MS;
 import static org.folio.edge.core.Constants.X_OKAPI_TENANT;
 import static org.folio.edge.core.Constants.X_OKAPI_TOKEN;
 import static org.folio.edge.core.utils.test.MockOkapi.X_DURATION;
@@ -19,11 +25,16 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.vertx.core.net.KeyStoreOptions;
+import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClientOptions;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.logging.log4j.LogManager;
@@ -36,9 +47,14 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
@@ -315,6 +331,330 @@ public class OkapiClientTest {
         t -> context.fail(t));
   }
 
+  @Test
+  public void testPostBuffer(TestContext context) {
+    Buffer payload = Buffer.buffer("{\"hello\":\"world\"}");
+    client.postBuffer(String.format("http://localhost:%s/echo", mockOkapi.okapiPort), tenant, payload, null)
+    .onComplete(context.asyncAssertSuccess(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(resp.body(), is(payload));
+    }));
+  }
+
+  @Test
+  public void testPutBuffer(TestContext context) {
+    Buffer payload = Buffer.buffer("{\"hello\":\"world\"}");
+    client.putBuffer(String.format("http://localhost:%s/echo", mockOkapi.okapiPort), tenant, payload, null)
+    .onComplete(context.asyncAssertSuccess(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(resp.body(), is(payload));
+    }));
+  }
+
+  @Test
+  public void testPostAndPutStream(TestContext context) throws Exception {
+    Path file = Files.createTempFile("okapi-client", ".txt");
+    String payload = "0123456789".repeat(100_000);
+    Files.writeString(file, payload);
+    String url = String.format("http://localhost:%s/echo", mockOkapi.okapiPort);
+    // the mock echoes request headers, a known length keeps it from echoing Transfer-Encoding
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+        .add(HttpHeaders.CONTENT_LENGTH, Integer.toString(payload.length()));
+
+    client.vertx.fileSystem().open(file.toString(), new OpenOptions().setRead(true))
+    .compose(asyncFile -> client.postStream(url, tenant, asyncFile, headers))
+    .compose(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(resp.bodyAsString(), is(payload));
+      return client.vertx.fileSystem().open(file.toString(), new OpenOptions().setRead(true));
+    })
+    .compose(asyncFile -> client.putStream(url, tenant, asyncFile, headers))
+    .onComplete(context.asyncAssertSuccess(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(resp.bodyAsString(), is(payload));
+      file.toFile().delete();
+    }));
+  }
+
+  @Test
+  public void testSendStreamsRequestAndResponse(TestContext context) {
+    Buffer payload = Buffer.buffer("streamed");
+    client.vertx.fileSystem().createTempFile("okapi-client", ".txt")
+    .compose(path -> client.vertx.fileSystem().writeFile(path, payload)
+        .compose(x -> client.vertx.fileSystem().open(path, new OpenOptions().setRead(true))))
+    .compose(asyncFile -> client.send(HttpMethod.POST,
+        String.format("http://localhost:%s/echo", mockOkapi.okapiPort), tenant,
+        MultiMap.caseInsensitiveMultiMap().add(HttpHeaders.CONTENT_LENGTH, Integer.toString(payload.length())),
+        asyncFile))
+    .compose(response -> {
+      assertThat(response.statusCode(), is(200));
+      return response.body();
+    })
+    .onComplete(context.asyncAssertSuccess(body -> assertThat(body, is(payload))));
+  }
+
+  @Test
+  public void testSendStreamsResponse(TestContext context) {
+    client.setToken("tok");
+    var headers = MultiMap.caseInsensitiveMultiMap()
+        .add(X_ECHO_STATUS, "202")
+        .add(HEADER_API_KEY, "foobarbaz");
+    client.send(HttpMethod.GET, String.format("http://localhost:%s/echo", mockOkapi.okapiPort), tenant, headers)
+    .compose(response -> {
+      assertThat(response.statusCode(), is(202));
+      assertThat(response.getHeader(X_OKAPI_TENANT), is(tenant));
+      assertThat(response.getHeader(X_OKAPI_TOKEN), is("tok"));
+      assertThat(response.getHeader(HEADER_API_KEY), is(nullValue()));
+      return response.body();
+    })
+    .onComplete(context.asyncAssertSuccess(body -> assertThat(body.length(), is(0))));
+  }
+
+  @Test
+  public void testSendTimeout(TestContext context) {
+    mockOkapi.setDelay(reqTimeout * 2);
+    client.send(HttpMethod.GET, String.format("http://localhost:%s/echo", mockOkapi.okapiPort), tenant, null)
+    .onComplete(context.asyncAssertFailure(t -> assertThat(t, instanceOf(TimeoutException.class))));
+  }
+
+  @Test
+  public void testSendTrickleTimeout(TestContext context) {
+    Vertx vertx = client.vertx;
+    int port = TestUtils.getPort();
+    OkapiClient trickleClient = new OkapiClientFactory(vertx, "http://localhost:" + port, reqTimeout)
+        .getOkapiClient(tenant);
+
+    vertx.createHttpServer()
+    .requestHandler(req -> {
+      // never idle for the request timeout, but slower than it in total
+      req.response().setChunked(true);
+      long timerId = vertx.setPeriodic(reqTimeout / 3, id -> req.response().write("x"));
+      vertx.setTimer(reqTimeout * 3L, id -> {
+        vertx.cancelTimer(timerId);
+        req.response().end();
+      });
+    })
+    .listen(port)
+    .compose(server -> trickleClient.send(HttpMethod.GET, "http://localhost:" + port + "/", tenant, null))
+    .compose(response -> response.body())
+    .onComplete(context.asyncAssertFailure(t -> assertThat(t, instanceOf(TimeoutException.class))));
+  }
+
+  @Test
+  public void testSendHoldsBulkheadUntilBodyEnds(TestContext context) {
+    Vertx vertx = client.vertx;
+    int port = TestUtils.getPort();
+    String url = "http://localhost:" + port + "/stream";
+    OkapiClient streamingClient = new OkapiClientFactory(vertx, "http://localhost:" + port, reqTimeout)
+        .setCircuitBreakers(new CircuitBreakerRegistry(0, 1000, 1))
+        .getOkapiClient(tenant);
+    CircuitBreaker breaker = streamingClient.circuitBreakers.get(tenant, url);
+
+    vertx.createHttpServer()
+    .requestHandler(req -> {
+      req.response().setChunked(true).write("x");
+      vertx.setTimer(200, id -> req.response().end("y"));
+    })
+    .listen(port)
+    .compose(server -> streamingClient.send(HttpMethod.GET, url, tenant, null))
+    .compose(response -> {
+      // headers received, body still streaming
+      assertEquals(1, breaker.getInFlight());
+      return streamingClient.send(HttpMethod.GET, url, tenant, null)
+        .transform(ar -> {
+          assertThat(ar.cause(), instanceOf(ServiceUnavailableException.class));
+          return response.end();
+        });
+    })
+    .onComplete(context.asyncAssertSuccess(x -> assertEquals(0, breaker.getInFlight())));
+  }
+
+  @Test
+  public void testSharedHttpClient() {
+    Vertx vertx = client.vertx;
+    OkapiClient client1 = new OkapiClient(vertx, "http://localhost:9130", "tenant1", reqTimeout);
+    OkapiClient client2 = new OkapiClient(vertx, "http://localhost:9130", "tenant2", reqTimeout);
+    assertThat(client1.getHttpClient(), is(client2.getHttpClient()));
+  }
+
+  @Test
+  public void testCircuitBreaker(TestContext context) {
+    JsonObject config = new JsonObject()
+        .put(SYS_OKAPI_URL, "http://localhost:" + mockOkapi.okapiPort)
+        .put(SYS_REQUEST_TIMEOUT_MS, reqTimeout)
+        .put(FOLIO_CLIENT_TLS_ENABLED, false)
+        .put(SYS_OKAPI_CLIENT_CIRCUIT_BREAKER_FAILURE_THRESHOLD, 2);
+    OkapiClient cbClient = OkapiClientFactoryInitializer.createInstance(client.vertx, config)
+        .getOkapiClient(tenant);
+
+    String echo = String.format("http://localhost:%s/echo", mockOkapi.okapiPort);
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap().add(X_ECHO_STATUS, "503");
+    cbClient.get(echo, tenant, headers)
+    .compose(resp -> cbClient.get(echo, tenant, headers))
+    .compose(resp -> {
+      assertThat(resp.statusCode(), is(503));
+      return cbClient.get(echo, tenant, null);
+    })
+    .transform(ar -> {
+      // open, so not sent
+      assertTrue(ar.failed());
+      assertThat(ar.cause(), instanceOf(ServiceUnavailableException.class));
+      // other path prefixes are not affected
+      return cbClient.get(String.format("http://localhost:%s/_/proxy/health", mockOkapi.okapiPort), tenant, null);
+    })
+    .onComplete(context.asyncAssertSuccess(resp -> assertThat(resp.statusCode(), is(200))));
+  }
+
+  @Test
+  public void testHedging(TestContext context) {
+    Vertx vertx = client.vertx;
+    int port = TestUtils.getPort();
+    String url = String.format("http://localhost:%s/hedge", port);
+    AtomicInteger requests = new AtomicInteger();
+    AtomicBoolean slowNext = new AtomicBoolean();
+    OkapiClient hedgingClient = new OkapiClientFactory(vertx, "http://localhost:" + port, reqTimeout)
+        .setHedgingPolicy(new HedgingPolicy(95, 100))
+        .getOkapiClient(tenant);
+
+    vertx.createHttpServer()
+    .requestHandler(req -> {
+      requests.incrementAndGet();
+      if (slowNext.getAndSet(false)) {
+        // slower than the request timeout
+        vertx.setTimer(reqTimeout * 2L, id -> req.response().end("slow"));
+      } else {
+        req.response().end("fast");
+      }
+    })
+    .listen(port)
+    .compose(server -> {
+      // latency samples for the hedging delay
+      Future<HttpResponse<Buffer>> primed = Future.succeededFuture();
+      for (int i = 0; i < HedgingPolicy.MIN_SAMPLES; i++) {
+        primed = primed.compose(x -> hedgingClient.get(url, tenant, null));
+      }
+      return primed;
+    })
+    .compose(x -> {
+      requests.set(0);
+      slowNext.set(true);
+      return hedgingClient.get(url, tenant, null);
+    })
+    .onComplete(context.asyncAssertSuccess(resp -> {
+      assertThat(resp.bodyAsString(), is("fast"));
+      assertThat(requests.get(), is(2));
+    }));
+  }
+
+  @Test
+  public void testRetry(TestContext context) {
+    Vertx vertx = client.vertx;
+    int port = TestUtils.getPort();
+    String url = String.format("http://localhost:%s/retry", port);
+    AtomicInteger requests = new AtomicInteger();
+    OkapiClient retryingClient = new OkapiClientFactory(vertx, "http://localhost:" + port, reqTimeout)
+        .setRetryPolicy(new RetryPolicy(2, 10, 50, 10))
+        .getOkapiClient(tenant);
+
+    vertx.createHttpServer()
+    .requestHandler(req -> {
+      // every other request fails
+      int status = requests.incrementAndGet() % 2 == 1 ? 503 : 200;
+      req.response().setStatusCode(status).end();
+    })
+    .listen(port)
+    .compose(server -> retryingClient.get(url, tenant, null))
+    .compose(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(requests.get(), is(2));
+      return retryingClient.send(HttpMethod.GET, url, tenant, null);
+    })
+    .compose(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(requests.get(), is(4));
+      // not idempotent
+      return retryingClient.post(url, tenant, null, null);
+    })
+    .onComplete(context.asyncAssertSuccess(resp -> {
+      assertThat(resp.statusCode(), is(503));
+      assertThat(requests.get(), is(5));
+    }));
+  }
+
+  @Test
+  public void testResponseCache(TestContext context) {
+    Vertx vertx = client.vertx;
+    int port = TestUtils.getPort();
+    String freshUrl = String.format("http://localhost:%s/fresh", port);
+    String etagUrl = String.format("http://localhost:%s/etag", port);
+    String noStoreUrl = String.format("http://localhost:%s/nostore", port);
+    AtomicInteger requests = new AtomicInteger();
+    AtomicInteger notModified = new AtomicInteger();
+    OkapiClient cachingClient = new OkapiClientFactory(vertx, "http://localhost:" + port, reqTimeout)
+        .setResponseCache(new ResponseCache(1 << 20))
+        .getOkapiClient(tenant);
+
+    vertx.createHttpServer()
+    .requestHandler(req -> {
+      requests.incrementAndGet();
+      if (req.path().equals("/fresh")) {
+        req.response().putHeader(HttpHeaders.CACHE_CONTROL, "max-age=60").end("fresh");
+      } else if ("\"1\"".equals(req.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+        notModified.incrementAndGet();
+        if (req.path().equals("/nostore")) {
+          req.response().putHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        }
+        req.response().setStatusCode(304).putHeader(HttpHeaders.ETAG, "\"1\"").end();
+      } else {
+        req.response().putHeader(HttpHeaders.ETAG, "\"1\"").end("etag");
+      }
+    })
+    .listen(port)
+    .compose(server -> cachingClient.get(freshUrl, tenant, null))
+    .compose(resp -> cachingClient.get(freshUrl, tenant, null))
+    .compose(resp -> {
+      assertThat(resp.bodyAsString(), is("fresh"));
+      assertThat(requests.get(), is(1));
+      return cachingClient.get(etagUrl, tenant, null);
+    })
+    .compose(resp -> cachingClient.get(etagUrl, tenant, null))
+    .compose(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(resp.bodyAsString(), is("etag"));
+      assertThat(requests.get(), is(3));
+      assertThat(notModified.get(), is(1));
+      return cachingClient.get(noStoreUrl, tenant, null);
+    })
+    // a 304 that may not be stored still answers the unconditional request
+    .compose(resp -> cachingClient.get(noStoreUrl, tenant, null))
+    .onComplete(context.asyncAssertSuccess(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(resp.bodyAsString(), is("etag"));
+      assertThat(notModified.get(), is(2));
+    }));
+  }
+
+  @Test
+  public void testHttp2PriorKnowledge(TestContext context) {
+    JsonObject config = new JsonObject()
+        .put(SYS_OKAPI_URL, "http://localhost:" + mockOkapi.okapiPort)
+        .put(SYS_REQUEST_TIMEOUT_MS, reqTimeout)
+        .put(FOLIO_CLIENT_TLS_ENABLED, false)
+        .put(SYS_OKAPI_CLIENT_HTTP2, true)
+        .put(SYS_OKAPI_CLIENT_HTTP2_MULTIPLEXING_LIMIT, 100);
+    OkapiClient h2Client = OkapiClientFactoryInitializer.createInstance(client.vertx, config)
+        .getOkapiClient(tenant);
+
+    String url = String.format("http://localhost:%s/_/proxy/health", mockOkapi.okapiPort);
+    h2Client.get(url, tenant, null)
+    .compose(resp -> {
+      assertThat(resp.statusCode(), is(200));
+      assertThat(resp.version(), is(HttpVersion.HTTP_2));
+      return h2Client.send(HttpMethod.GET, url, tenant, null);
+    })
+    .onComplete(context.asyncAssertSuccess(resp -> assertThat(resp.version(), is(HttpVersion.HTTP_2))));
+  }
+
   @Test
   public void testWrongTenantTokenHeaders(TestContext context) {
     var headers = MultiMap.caseInsensitiveMultiMap()
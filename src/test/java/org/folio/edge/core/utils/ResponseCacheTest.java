@@ -0,0 +1,138 @@
+package org.folio.edge.core.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.client.HttpResponse;
+
+public class ResponseCacheTest {
+
+  private static HttpResponse<Buffer> response(int status, String cacheControl, String etag, String body) {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    if (cacheControl != null) {
+      headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+    if (etag != null) {
+      headers.set(HttpHeaders.ETAG, etag);
+    }
+    return new ResponseCache.CachedResponse(status, "", headers, Buffer.buffer(body));
+  }
+
+  private static long freshnessMs(String cacheControl, String age) {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    if (cacheControl != null) {
+      headers.set(HttpHeaders.CACHE_CONTROL, cacheControl);
+    }
+    if (age != null) {
+      headers.set(HttpHeaders.AGE, age);
+    }
+    return ResponseCache.freshnessMs(headers);
+  }
+
+  @Test
+  public void testFreshness() {
+    assertEquals(0, freshnessMs(null, null));
+    assertEquals(60000, freshnessMs("max-age=60", null));
+    assertEquals(60000, freshnessMs("public, max-age=60", null));
+    assertEquals(50000, freshnessMs("max-age=60", "10"));
+    assertEquals(0, freshnessMs("max-age=60", "100"));
+    assertEquals(120000, freshnessMs("max-age=60, s-maxage=120", null));
+    assertEquals(0, freshnessMs("no-cache, max-age=60", null));
+    assertEquals(0, freshnessMs("max-age=oops", null));
+    assertEquals(ResponseCache.NOT_CACHEABLE, freshnessMs("no-store", null));
+    assertEquals(ResponseCache.NOT_CACHEABLE, freshnessMs("Private, max-age=60", null));
+  }
+
+  @Test
+  public void testVaryAndSetCookie() {
+    ResponseCache cache = new ResponseCache(1 << 20);
+    HttpResponse<Buffer> accept = response(200, "max-age=60", null, "a");
+    accept.headers().add(HttpHeaders.VARY, "Accept");
+    assertTrue(cache.put("accept", accept));
+
+    HttpResponse<Buffer> language = response(200, "max-age=60", null, "b");
+    language.headers().add(HttpHeaders.VARY, "accept, Accept-Language");
+    assertFalse(cache.put("language", language));
+
+    HttpResponse<Buffer> any = response(200, "max-age=60", null, "c");
+    any.headers().add(HttpHeaders.VARY, "*");
+    assertFalse(cache.put("any", any));
+
+    HttpResponse<Buffer> cookie = response(200, "max-age=60", null, "d");
+    cookie.headers().add(HttpHeaders.SET_COOKIE, "session=1");
+    assertFalse(cache.put("cookie", cookie));
+
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testPut() {
+    ResponseCache cache = new ResponseCache(1 << 20);
+    assertTrue(cache.put("fresh", response(200, "max-age=60", null, "a")));
+    assertTrue(cache.put("etag", response(200, "no-cache", "\"1\"", "b")));
+    assertFalse(cache.put("noValidator", response(200, "no-cache", null, "c")));
+    assertFalse(cache.put("noStore", response(200, "no-store", "\"1\"", "d")));
+    assertFalse(cache.put("notFound", response(404, "max-age=60", null, "e")));
+    assertEquals(2, cache.size());
+
+    ResponseCache.Entry fresh = cache.get("fresh");
+    assertTrue(fresh.isFresh());
+    assertEquals("a", fresh.toResponse().bodyAsString());
+    assertEquals("max-age=60", fresh.toResponse().getHeader("Cache-Control"));
+
+    ResponseCache.Entry etag = cache.get("etag");
+    assertFalse(etag.isFresh());
+    MultiMap requestHeaders = MultiMap.caseInsensitiveMultiMap();
+    etag.addValidators(requestHeaders);
+    assertEquals("\"1\"", requestHeaders.get(HttpHeaders.IF_NONE_MATCH));
+
+    assertTrue(cache.revalidated("etag", etag, response(304, "max-age=60", null, "")));
+    assertTrue(etag.isFresh());
+    assertFalse(cache.revalidated("etag", etag, response(304, "no-store", null, "")));
+    assertNull(cache.get("etag"));
+
+    // a response that is no longer cacheable replaces the cached one
+    assertFalse(cache.put("fresh", response(200, "no-store", null, "a")));
+    assertNull(cache.get("fresh"));
+    assertEquals(0, cache.bytes());
+  }
+
+  @Test
+  public void testEviction() {
+    int entryBytes = ResponseCache.ENTRY_OVERHEAD + 1 + 100;
+    ResponseCache cache = new ResponseCache(entryBytes * 8L);
+    String body = new String(new char[100]).replace('\0', 'x');
+    for (int i = 0; i < 8; i++) {
+      assertTrue(cache.put(Integer.toString(i), response(200, "max-age=60", null, body)));
+    }
+    assertEquals(8, cache.size());
+    assertEquals(entryBytes * 8L, cache.bytes());
+
+    // least recently used is evicted
+    assertNotNull(cache.get("0"));
+    assertTrue(cache.put("8", response(200, "max-age=60", null, body)));
+    assertEquals(8, cache.size());
+    assertNotNull(cache.get("0"));
+    assertNull(cache.get("1"));
+
+    // larger than an eighth of the cache
+    assertFalse(cache.put("large", response(200, "max-age=60", null, body + "x")));
+  }
+
+  @Test
+  public void testKey() {
+    // users with different permissions don't share responses
+    assertFalse(ResponseCache.key("diku", "token1", "/items", null)
+        .equals(ResponseCache.key("diku", "token2", "/items", null)));
+    assertEquals(ResponseCache.key("diku", "token1", "/items", null),
+        ResponseCache.key("diku", "token1", "/items", null));
+  }
+}
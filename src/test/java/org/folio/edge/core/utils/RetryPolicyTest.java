@@ -0,0 +1,77 @@
+package org.folio.edge.core.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+
+import io.vertx.core.http.HttpClosedException;
+import io.vertx.core.http.HttpMethod;
+
+public class RetryPolicyTest {
+
+  @Test
+  public void testIdempotent() {
+    assertTrue(RetryPolicy.isIdempotent(HttpMethod.GET));
+    assertTrue(RetryPolicy.isIdempotent(HttpMethod.HEAD));
+    assertTrue(RetryPolicy.isIdempotent(HttpMethod.PUT));
+    assertTrue(RetryPolicy.isIdempotent(HttpMethod.DELETE));
+    assertFalse(RetryPolicy.isIdempotent(HttpMethod.POST));
+    assertFalse(RetryPolicy.isIdempotent(HttpMethod.PATCH));
+  }
+
+  @Test
+  public void testRetryable() {
+    assertTrue(RetryPolicy.isRetryable(502));
+    assertTrue(RetryPolicy.isRetryable(503));
+    assertTrue(RetryPolicy.isRetryable(504));
+    assertFalse(RetryPolicy.isRetryable(200));
+    assertFalse(RetryPolicy.isRetryable(500));
+    assertFalse(RetryPolicy.isRetryable(404));
+
+    assertTrue(RetryPolicy.isRetryable(new ConnectException("refused")));
+    assertTrue(RetryPolicy.isRetryable(new RuntimeException(new IOException("reset"))));
+    assertTrue(RetryPolicy.isRetryable(new HttpClosedException("closed")));
+    assertFalse(RetryPolicy.isRetryable(new TimeoutException("timeout")));
+    assertFalse(RetryPolicy.isRetryable(new IllegalStateException()));
+  }
+
+  @Test
+  public void testDelay() {
+    RetryPolicy policy = new RetryPolicy(3, 50, 1000, 10);
+    assertEquals(50, policy.nextDelayMs(0));
+    long delay = 0;
+    for (int i = 0; i < 100; i++) {
+      long next = policy.nextDelayMs(delay);
+      assertTrue(next >= 50);
+      assertTrue(next <= Math.min(1000, Math.max(50, delay * 3)));
+      delay = next;
+    }
+    assertTrue(policy.nextDelayMs(10000) <= 1000);
+  }
+
+  @Test
+  public void testBudget() {
+    RetryPolicy policy = new RetryPolicy(3, 50, 1000, 25);
+    for (int i = 0; i < RetryPolicy.MAX_TOKENS; i++) {
+      assertTrue(policy.tryAcquire("diku"));
+    }
+    assertFalse(policy.tryAcquire("diku"));
+    // budgets are per tenant
+    assertTrue(policy.tryAcquire("other"));
+
+    // 25% budget, 4 requests earn one retry
+    for (int i = 0; i < 3; i++) {
+      policy.onRequest("diku");
+    }
+    assertFalse(policy.tryAcquire("diku"));
+    policy.onRequest("diku");
+    assertTrue(policy.tryAcquire("diku"));
+    assertFalse(policy.tryAcquire("diku"));
+  }
+}
@@ -0,0 +1,73 @@
+package org.folio.edge.core.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+
+public class SingleFlightTest {
+
+  @Test
+  public void testCoalesce() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    AtomicInteger calls = new AtomicInteger();
+    Promise<String> promise = Promise.promise();
+
+    Future<String> f1 = singleFlight.execute("a", () -> {
+      calls.incrementAndGet();
+      return promise.future();
+    });
+    Future<String> f2 = singleFlight.execute("a", () -> {
+      calls.incrementAndGet();
+      return Future.succeededFuture("other");
+    });
+
+    assertSame(f1, f2);
+    assertEquals(1, calls.get());
+    assertEquals(1, singleFlight.size());
+
+    promise.complete("value");
+    assertEquals("value", f1.result());
+    assertEquals("value", f2.result());
+    assertEquals(0, singleFlight.size());
+
+    // released once complete
+    Future<String> f3 = singleFlight.execute("a", () -> {
+      calls.incrementAndGet();
+      return Future.succeededFuture("again");
+    });
+    assertEquals("again", f3.result());
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void testDistinctKeys() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    Promise<String> promise = Promise.promise();
+
+    singleFlight.execute("a", promise::future);
+    Future<String> b = singleFlight.execute("b", () -> Future.succeededFuture("b"));
+
+    assertEquals("b", b.result());
+    assertEquals(1, singleFlight.size());
+  }
+
+  @Test
+  public void testFailureReleasesKey() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    Future<String> failed = singleFlight.execute("a", () -> {
+      throw new IllegalStateException("boom");
+    });
+
+    assertTrue(failed.failed());
+    assertEquals("boom", failed.cause().getMessage());
+    assertEquals(0, singleFlight.size());
+  }
+}
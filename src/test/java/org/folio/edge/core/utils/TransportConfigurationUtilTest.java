@@ -0,0 +1,93 @@
+package org.folio.edge.core.utils;
+
+import static org.folio.edge.core.Constants.SYS_ACCEPT_BACKLOG;
+import static org.folio.edge.core.Constants.SYS_RECEIVE_BUFFER_SIZE;
+import static org.folio.edge.core.Constants.SYS_REUSE_PORT;
+import static org.folio.edge.core.Constants.SYS_SEND_BUFFER_SIZE;
+import static org.folio.edge.core.Constants.SYS_TCP_FAST_OPEN;
+import static org.folio.edge.core.Constants.SYS_TCP_NO_DELAY;
+import static org.folio.edge.core.Constants.SYS_TCP_QUICK_ACK;
+import static org.folio.edge.core.Constants.SYS_TRANSPORT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.transport.Transport;
+import io.vertx.ext.web.client.WebClientOptions;
+import org.junit.Test;
+
+public class TransportConfigurationUtilTest {
+
+  @Test
+  public void testDefaults() {
+    HttpServerOptions serverOptions = new HttpServerOptions();
+    TransportConfigurationUtil.configureServerOptions(new JsonObject(), serverOptions);
+    assertTrue(serverOptions.isTcpNoDelay());
+    assertFalse(serverOptions.isTcpFastOpen());
+    assertFalse(serverOptions.isTcpQuickAck());
+    assertFalse(serverOptions.isReusePort());
+    assertEquals(-1, serverOptions.getReceiveBufferSize());
+    assertEquals(-1, serverOptions.getSendBufferSize());
+    assertEquals(-1, serverOptions.getAcceptBacklog());
+  }
+
+  @Test
+  public void testServerAndClientOptions() {
+    JsonObject config = new JsonObject()
+        .put(SYS_TCP_NO_DELAY, false)
+        .put(SYS_TCP_FAST_OPEN, true)
+        .put(SYS_TCP_QUICK_ACK, true)
+        .put(SYS_REUSE_PORT, true)
+        .put(SYS_RECEIVE_BUFFER_SIZE, 65536)
+        .put(SYS_SEND_BUFFER_SIZE, 131072)
+        .put(SYS_ACCEPT_BACKLOG, 2048);
+
+    HttpServerOptions serverOptions = new HttpServerOptions();
+    TransportConfigurationUtil.configureServerOptions(config, serverOptions);
+    assertFalse(serverOptions.isTcpNoDelay());
+    assertTrue(serverOptions.isTcpFastOpen());
+    assertTrue(serverOptions.isTcpQuickAck());
+    assertTrue(serverOptions.isReusePort());
+    assertEquals(65536, serverOptions.getReceiveBufferSize());
+    assertEquals(131072, serverOptions.getSendBufferSize());
+    assertEquals(2048, serverOptions.getAcceptBacklog());
+
+    WebClientOptions clientOptions = WebClientConfigurationUtil.createWebClientOptions(config);
+    assertFalse(clientOptions.isTcpNoDelay());
+    assertTrue(clientOptions.isTcpFastOpen());
+    assertTrue(clientOptions.isTcpQuickAck());
+    assertTrue(clientOptions.isReusePort());
+    assertEquals(65536, clientOptions.getReceiveBufferSize());
+    assertEquals(131072, clientOptions.getSendBufferSize());
+  }
+
+  @Test
+  public void testNioTransport() {
+    Vertx vertx = TransportConfigurationUtil.configureTransport(new JsonObject(), Vertx.builder()).build();
+    try {
+      assertFalse(vertx.isNativeTransportEnabled());
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test
+  public void testNativeTransportFallback() {
+    // epoll if available on the build host, NIO otherwise
+    JsonObject config = new JsonObject().put(SYS_TRANSPORT, TransportConfigurationUtil.TRANSPORT_EPOLL);
+    Vertx vertx = TransportConfigurationUtil.configureTransport(config, Vertx.builder()).build();
+    try {
+      assertEquals(Transport.EPOLL.available(), vertx.isNativeTransportEnabled());
+    } finally {
+      vertx.close();
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownTransport() {
+    TransportConfigurationUtil.configureTransport(new JsonObject().put(SYS_TRANSPORT, "kqueue"), Vertx.builder());
+  }
+}